@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kendanware.onegui.core.GraphicsSettings;
+import com.kendanware.onegui.core.assets.ImageResourceFactory;
+
+/**
+ * Image loading with <code>ImageResourceFactory.getImage</code>: cache hits, resizing of an already decoded image and decoding.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageBenchmark {
+
+    private static final String RESOURCE = "/image1.jpg";
+
+    private ImageResourceFactory imageResourceFactory;
+
+    private int size;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.imageResourceFactory = new ImageResourceFactory(new GraphicsSettings());
+        this.imageResourceFactory.getImage(ImageBenchmark.RESOURCE, 1280, 720);
+    }
+
+    @Benchmark
+    public BufferedImage cached() throws IOException {
+        return this.imageResourceFactory.getImage(ImageBenchmark.RESOURCE, 1280, 720);
+    }
+
+    /**
+     * A new size every call, the decoded source is reused
+     */
+    @Benchmark
+    public BufferedImage resize() throws IOException {
+        this.size = (this.size + 1) % 256;
+        return this.imageResourceFactory.getImage(ImageBenchmark.RESOURCE, 640 + this.size, 360 + this.size);
+    }
+
+    /**
+     * A new factory every call, the image is decoded and resized
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 10)
+    public BufferedImage decode() throws IOException {
+        return new ImageResourceFactory(new GraphicsSettings()).getImage(ImageBenchmark.RESOURCE, 1280, 720);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.benchmarks;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.renderer.ComponentInfo;
+import com.kendanware.onegui.core.renderer.LayoutStore;
+import com.kendanware.onegui.core.renderer.RendererMath;
+
+/**
+ * Layout of synthetic trees with <code>RendererMath.calculateChildren</code>.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int components;
+
+    private OneGui oneGui;
+
+    private Screen screen;
+
+    private final LayoutStore layoutStore = new LayoutStore();
+
+    private final Map<String, ComponentInfo> componentInfos = new ConcurrentHashMap<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.oneGui = new OneGui();
+        this.oneGui.addStyles(SyntheticScreen.styles(this.components));
+        this.screen = SyntheticScreen.create(this.oneGui, this.components);
+        this.layoutStore.set(this.screen.getSlot(), 0.0f, 0.0f, 1280.0f, 720.0f, true);
+        RendererMath.calculateChildren(this.layoutStore, this.screen, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.oneGui.shutdown();
+    }
+
+    /**
+     * Layout of the whole tree, nothing is known from a previous layout
+     */
+    @Benchmark
+    public int fullLayout() {
+        this.layoutStore.clear();
+        this.layoutStore.set(this.screen.getSlot(), 0.0f, 0.0f, 1280.0f, 720.0f, true);
+        return RendererMath.calculateChildren(this.layoutStore, this.screen, true);
+    }
+
+    /**
+     * Layout of the whole tree with the panels forked onto the common pool
+     */
+    @Benchmark
+    public int fullLayoutParallel() {
+        this.layoutStore.clear();
+        this.layoutStore.set(this.screen.getSlot(), 0.0f, 0.0f, 1280.0f, 720.0f, true);
+        this.layoutStore.ensureCapacity(this.screen.getSlotCount());
+        return RendererMath.calculateChildren(this.layoutStore, this.screen, true, ForkJoinPool.commonPool(), SyntheticScreen.LABELS_PER_PANEL);
+    }
+
+    /**
+     * Layout of the whole tree into a map keyed by component id, the layout used before layout was stored by slot
+     */
+    @Benchmark
+    public int fullLayoutMap() {
+        this.componentInfos.clear();
+        this.componentInfos.put(this.screen.getId(), new ComponentInfo(0.0f, 0.0f, 1280.0f, 720.0f, true));
+        return RendererMath.calculateChildren(this.componentInfos, this.screen, true);
+    }
+
+    /**
+     * Layout of a tree where nothing changed since the last layout
+     */
+    @Benchmark
+    public int unchangedLayout() {
+        return RendererMath.calculateChildren(this.layoutStore, this.screen, false);
+    }
+}
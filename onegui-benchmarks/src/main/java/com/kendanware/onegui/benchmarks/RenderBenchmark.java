@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kendanware.onegui.core.Container;
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.control.Label;
+import com.kendanware.onegui.core.renderer.OneGuiRenderer;
+
+/**
+ * Rendering of a synthetic screen with <code>OneGuiRenderer.generateImage</code>. Every frame changes the text of a single label. A fresh
+ * renderer is created for every frame and has no rendered surfaces or layout yet, a reused renderer keeps them between frames. The asset
+ * caches of <code>OneGui</code> are shared by both. Damage tracking is set the same way on every renderer. Parallel rendering renders the
+ * children of a container on the common pool.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({ "100", "1000" })
+    private int components;
+
+    @Param({ "fresh", "reused" })
+    private String renderer;
+
+    @Param({ "true", "false" })
+    private boolean damageTracking;
+
+    @Param({ "serial", "parallel" })
+    private String render;
+
+    private OneGui oneGui;
+
+    private Screen screen;
+
+    private OneGuiRenderer oneGuiRenderer;
+
+    private Label label;
+
+    private int frame;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.oneGui = new OneGui();
+        this.oneGui.addStyles(SyntheticScreen.styles(this.components));
+        this.screen = SyntheticScreen.create(this.oneGui, this.components);
+        this.label = (Label) ((Container) this.screen.getChildren().get(0)).getChildren().get(0);
+
+        this.oneGuiRenderer = this.createRenderer();
+        this.oneGuiRenderer.update(1);
+        this.oneGuiRenderer.generateImage();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        if ("fresh".equals(this.renderer)) {
+            this.oneGuiRenderer = this.createRenderer();
+        }
+    }
+
+    private OneGuiRenderer createRenderer() {
+        final OneGuiRenderer oneGuiRenderer = new OneGuiRenderer(this.screen, 1280, 720);
+        oneGuiRenderer.setDamageTracking(this.damageTracking);
+
+        if ("parallel".equals(this.render)) {
+            oneGuiRenderer.setRenderExecutor(ForkJoinPool.commonPool());
+        }
+
+        return oneGuiRenderer;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.oneGui.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage generateImage() {
+        this.label.setText("Frame " + this.frame++);
+        this.oneGuiRenderer.update(1);
+        return this.oneGuiRenderer.generateImage();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kendanware.onegui.core.style.CompiledStyleSheet;
+import com.kendanware.onegui.core.style.Style;
+import com.kendanware.onegui.core.style.StyleCompiler;
+import com.kendanware.onegui.core.style.StyleParser;
+
+/**
+ * Parsing of large .ogs files with <code>StyleParser.parseStyle</code>. The <code>throughput</code> benchmark reports the parsed
+ * megabytes per second as the <code>megabytes</code> counter. <code>openCompiled</code> loads the same sheet in the compiled format and
+ * looks up one style.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StyleParserBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int selectors;
+
+    private byte[] data;
+
+    private Path compiled;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.data = StyleParserBenchmark.createStyleSheet(this.selectors).getBytes(StandardCharsets.UTF_8);
+        this.compiled = Files.createTempFile("onegui-benchmark", ".ogsc");
+        new StyleCompiler().compile(new ByteArrayInputStream(this.data), this.compiled);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.compiled);
+    }
+
+    @Benchmark
+    public Map<String, Style> parseStyle() throws IOException {
+        return new StyleParser().parseStyle(new ByteArrayInputStream(this.data));
+    }
+
+    @Benchmark
+    public Style openCompiled() throws IOException {
+        return CompiledStyleSheet.open(this.compiled).getStyle("component" + (this.selectors / 2));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Map<String, Style> throughput(final ParsedBytes parsedBytes) throws IOException {
+        parsedBytes.megabytes += this.data.length / 1000000.0;
+        return new StyleParser().parseStyle(new ByteArrayInputStream(this.data));
+    }
+
+    /**
+     * Counts parsed data, JMH reports the counter per second
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ParsedBytes {
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.megabytes = 0;
+        }
+    }
+
+    /**
+     * Create a theme like style sheet with one block per selector
+     *
+     * @param selectors
+     *            the number of selectors
+     * @return .ogs formatted data
+     */
+    static String createStyleSheet(final int selectors) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < selectors; i++) {
+            builder.append("// Component ").append(i).append('\n');
+            builder.append("component").append(i).append(", alias").append(i).append(" {\n");
+            builder.append("\twidth: ").append(10 + (i % 90)).append("%;\n");
+            builder.append("\theight: ").append(20 + (i % 40)).append("px;\n");
+            builder.append("\tbackgroundColor: #").append(String.format("%06x", (i * 2654435761L) & 0xffffff)).append("ff;\n");
+            builder.append("\tcolor: black;\n");
+            builder.append("\tpaddingLeft: 4px;\n");
+            builder.append("\tmarginTop: 2px;\n");
+            builder.append("\tchildLayout: ").append((i % 2) == 0 ? "down" : "right").append(";\n");
+            builder.append("\tfont: \"/Tuffy.ttf\";\n");
+            builder.append("\tfontSize: 16px;\n");
+            builder.append("}\n");
+        }
+
+        return builder.toString();
+    }
+}
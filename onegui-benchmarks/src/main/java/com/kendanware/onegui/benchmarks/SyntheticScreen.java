@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.benchmarks;
+
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.container.Panel;
+import com.kendanware.onegui.core.control.Label;
+
+/**
+ * Builds screens of a given size for the benchmarks. The screen holds rows of panels with {@value #LABELS_PER_PANEL} labels each.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class SyntheticScreen {
+
+    public static final int LABELS_PER_PANEL = 9;
+
+    private SyntheticScreen() {
+    }
+
+    /**
+     * Create a screen, the styles must have been added with {@link #styles(int)}
+     *
+     * @param oneGui
+     *            the gui
+     * @param components
+     *            the approximate number of components
+     * @return the screen
+     */
+    public static Screen create(final OneGui oneGui, final int components) {
+        final Screen screen = new Screen(oneGui, "screen");
+
+        for (int p = 0; p < SyntheticScreen.panels(components); p++) {
+            final Panel panel = new Panel(screen, "p" + p);
+
+            for (int l = 0; l < SyntheticScreen.LABELS_PER_PANEL; l++) {
+                new Label(panel, "l" + p + "_" + l, "Label " + l);
+            }
+        }
+
+        return screen;
+    }
+
+    /**
+     * Create the style sheet for a screen
+     *
+     * @param components
+     *            the approximate number of components
+     * @return .ogs formatted data
+     */
+    public static String styles(final int components) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("screen { childLayout: down; backgroundColor: white; }\n");
+
+        final int panels = SyntheticScreen.panels(components);
+
+        for (int p = 0; p < panels; p++) {
+            builder.append(p == 0 ? "" : ",").append('p').append(p);
+        }
+        builder.append(" { height: 12px; childLayout: right; }\n");
+
+        for (int p = 0; p < panels; p++) {
+            for (int l = 0; l < SyntheticScreen.LABELS_PER_PANEL; l++) {
+                builder.append((p == 0) && (l == 0) ? "" : ",").append('l').append(p).append('_').append(l);
+            }
+        }
+        builder.append(" { width: 60px; height: 12px; color: black; font: \"/Tuffy.ttf\"; fontSize: 10px; }\n");
+
+        return builder.toString();
+    }
+
+    private static int panels(final int components) {
+        return Math.max(1, components / (SyntheticScreen.LABELS_PER_PANEL + 1));
+    }
+}
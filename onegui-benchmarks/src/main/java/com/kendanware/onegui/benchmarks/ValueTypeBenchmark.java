@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.benchmarks;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kendanware.onegui.core.Align;
+import com.kendanware.onegui.core.ChildLayout;
+import com.kendanware.onegui.core.Color;
+import com.kendanware.onegui.core.Dimension;
+import com.kendanware.onegui.core.FontSize;
+import com.kendanware.onegui.core.FontStyle;
+import com.kendanware.onegui.core.VerticalAlign;
+import com.kendanware.onegui.core.renderer.ComponentInfo;
+import com.kendanware.onegui.core.style.Style;
+
+/**
+ * <code>hashCode</code> and <code>equals</code> of the value types against the field by field implementation they used before the hash
+ * was cached. The <code>legacy</code> benchmarks recompute the hash and compare every field in the same order as the old code.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueTypeBenchmark {
+
+    private Style style;
+
+    private Style sameStyle;
+
+    private Style otherStyle;
+
+    private ComponentInfo componentInfo;
+
+    private ComponentInfo sameComponentInfo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.style = ValueTypeBenchmark.createStyle("100px");
+        this.sameStyle = ValueTypeBenchmark.createStyle("100px");
+
+        // Differs in the field compared last
+        this.otherStyle = ValueTypeBenchmark.createStyle("101px");
+
+        this.componentInfo = new ComponentInfo(10, 20, 300, 40, true);
+        this.sameComponentInfo = new ComponentInfo(10, 20, 300, 40, true);
+    }
+
+    @Benchmark
+    public int styleHashCode() {
+        return this.style.hashCode();
+    }
+
+    @Benchmark
+    public int legacyStyleHashCode() {
+        return ValueTypeBenchmark.legacyHashCode(this.style);
+    }
+
+    @Benchmark
+    public boolean styleEquals() {
+        return this.style.equals(this.sameStyle);
+    }
+
+    @Benchmark
+    public boolean legacyStyleEquals() {
+        return ValueTypeBenchmark.legacyEquals(this.style, this.sameStyle);
+    }
+
+    @Benchmark
+    public boolean styleNotEquals() {
+        return this.style.equals(this.otherStyle);
+    }
+
+    @Benchmark
+    public boolean legacyStyleNotEquals() {
+        return ValueTypeBenchmark.legacyEquals(this.style, this.otherStyle);
+    }
+
+    @Benchmark
+    public int componentInfoHashCode() {
+        return this.componentInfo.hashCode();
+    }
+
+    @Benchmark
+    public int legacyComponentInfoHashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + Float.floatToIntBits(this.componentInfo.getHeight());
+        result = (prime * result) + 1231;
+        result = (prime * result) + Float.floatToIntBits(this.componentInfo.getWidth());
+        result = (prime * result) + Float.floatToIntBits(this.componentInfo.getX());
+        result = (prime * result) + Float.floatToIntBits(this.componentInfo.getY());
+        return result;
+    }
+
+    @Benchmark
+    public boolean componentInfoEquals() {
+        return this.componentInfo.equals(this.sameComponentInfo);
+    }
+
+    private static Style createStyle(final String width) {
+        return new Style(new Dimension(width), new Dimension("20px"), new Color("#102030ff"), "/image.png", new Color("#405060ff"),
+                new Dimension("1px"), new Dimension("2px"), new Dimension("3px"), new Dimension("4px"), new Dimension("5px"), new Dimension(
+                        "6px"), new Dimension("7px"), new Dimension("8px"), ChildLayout.DOWN, Align.CENTER, VerticalAlign.MIDDLE, "/Tuffy.ttf",
+                new FontSize("16px"), FontStyle.NORMAL);
+    }
+
+    private static int legacyHashCode(final Style style) {
+        int result = 1;
+        result = (31 * result) + Objects.hashCode(style.getAlign());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getBackgroundColor());
+        result = (31 * result) + Objects.hashCode(style.getBackgroundImage());
+        result = (31 * result) + Objects.hashCode(style.getChildLayout());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getColor());
+        result = (31 * result) + Objects.hashCode(style.getFont());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getFontSize());
+        result = (31 * result) + Objects.hashCode(style.getFontStyle());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getHeight());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getMarginBottom());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getMarginLeft());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getMarginRight());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getMarginTop());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getPaddingBottom());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getPaddingLeft());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getPaddingRight());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getPaddingTop());
+        result = (31 * result) + Objects.hashCode(style.getVerticalAlign());
+        result = (31 * result) + ValueTypeBenchmark.legacyHashCode(style.getWidth());
+        return result;
+    }
+
+    private static int legacyHashCode(final Dimension dimension) {
+        if (dimension == null) {
+            return 0;
+        }
+
+        return (31 * (31 + dimension.getType().hashCode())) + Float.floatToIntBits(dimension.getSize());
+    }
+
+    private static int legacyHashCode(final Color color) {
+        if (color == null) {
+            return 0;
+        }
+
+        int result = 1;
+        result = (31 * result) + Float.floatToIntBits(color.getAlpha());
+        result = (31 * result) + Float.floatToIntBits(color.getBlue());
+        result = (31 * result) + Float.floatToIntBits(color.getGreen());
+        result = (31 * result) + Float.floatToIntBits(color.getRed());
+        return result;
+    }
+
+    private static int legacyHashCode(final FontSize fontSize) {
+        if (fontSize == null) {
+            return 0;
+        }
+
+        return (31 * (31 + Float.floatToIntBits(fontSize.getSize()))) + fontSize.getType().hashCode();
+    }
+
+    private static boolean legacyEquals(final Style style, final Style other) {
+        return (style.getAlign() == other.getAlign()) && ValueTypeBenchmark.legacyEquals(style.getBackgroundColor(), other.getBackgroundColor())
+                && Objects.equals(style.getBackgroundImage(), other.getBackgroundImage()) && (style.getChildLayout() == other.getChildLayout())
+                && ValueTypeBenchmark.legacyEquals(style.getColor(), other.getColor()) && Objects.equals(style.getFont(), other.getFont())
+                && ValueTypeBenchmark.legacyEquals(style.getFontSize(), other.getFontSize()) && (style.getFontStyle() == other.getFontStyle())
+                && ValueTypeBenchmark.legacyEquals(style.getHeight(), other.getHeight())
+                && ValueTypeBenchmark.legacyEquals(style.getMarginBottom(), other.getMarginBottom())
+                && ValueTypeBenchmark.legacyEquals(style.getMarginLeft(), other.getMarginLeft())
+                && ValueTypeBenchmark.legacyEquals(style.getMarginRight(), other.getMarginRight())
+                && ValueTypeBenchmark.legacyEquals(style.getMarginTop(), other.getMarginTop())
+                && ValueTypeBenchmark.legacyEquals(style.getPaddingBottom(), other.getPaddingBottom())
+                && ValueTypeBenchmark.legacyEquals(style.getPaddingLeft(), other.getPaddingLeft())
+                && ValueTypeBenchmark.legacyEquals(style.getPaddingRight(), other.getPaddingRight())
+                && ValueTypeBenchmark.legacyEquals(style.getPaddingTop(), other.getPaddingTop())
+                && (style.getVerticalAlign() == other.getVerticalAlign()) && ValueTypeBenchmark.legacyEquals(style.getWidth(), other.getWidth());
+    }
+
+    private static boolean legacyEquals(final Dimension dimension, final Dimension other) {
+        if ((dimension == null) || (other == null)) {
+            return dimension == other;
+        }
+
+        return (dimension.getType() == other.getType()) && (Float.floatToIntBits(dimension.getSize()) == Float.floatToIntBits(other.getSize()));
+    }
+
+    private static boolean legacyEquals(final Color color, final Color other) {
+        if ((color == null) || (other == null)) {
+            return color == other;
+        }
+
+        return (Float.floatToIntBits(color.getAlpha()) == Float.floatToIntBits(other.getAlpha()))
+                && (Float.floatToIntBits(color.getBlue()) == Float.floatToIntBits(other.getBlue()))
+                && (Float.floatToIntBits(color.getGreen()) == Float.floatToIntBits(other.getGreen()))
+                && (Float.floatToIntBits(color.getRed()) == Float.floatToIntBits(other.getRed()));
+    }
+
+    private static boolean legacyEquals(final FontSize fontSize, final FontSize other) {
+        if ((fontSize == null) || (other == null)) {
+            return fontSize == other;
+        }
+
+        return (Float.floatToIntBits(fontSize.getSize()) == Float.floatToIntBits(other.getSize())) && (fontSize.getType() == other.getType());
+    }
+}
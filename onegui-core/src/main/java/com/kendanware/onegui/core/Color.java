@@ -106,6 +106,9 @@ public final class Color implements Serializable, Cloneable {
     private final float blue;
     private final float alpha;
 
+    // Not serialized, restored by readResolve
+    private final transient int hash;
+
     /* Color names to actual defined colors mapping */
     private static final Map<String, Color> COLORS;
 
@@ -137,6 +140,7 @@ public final class Color implements Serializable, Cloneable {
         this.green = Color.MIN_VALUE;
         this.blue = Color.MIN_VALUE;
         this.alpha = Color.MAX_VALUE;
+        this.hash = this.calculateHashCode();
     }
 
     /**
@@ -166,6 +170,7 @@ public final class Color implements Serializable, Cloneable {
         this.green = green;
         this.blue = blue;
         this.alpha = alpha;
+        this.hash = this.calculateHashCode();
     }
 
     private void checkRange(final float value, final String color) {
@@ -193,6 +198,7 @@ public final class Color implements Serializable, Cloneable {
             this.green = ((parsed >> 16) & 255) / 255f;
             this.blue = ((parsed >> 8) & 255) / 255f;
             this.alpha = (parsed & 255) / 255f;
+            this.hash = this.calculateHashCode();
 
         } else {
 
@@ -204,6 +210,7 @@ public final class Color implements Serializable, Cloneable {
                     this.green = definedColor.green;
                     this.blue = definedColor.blue;
                     this.alpha = definedColor.alpha;
+                    this.hash = definedColor.hash;
                     return;
                 }
             }
@@ -240,8 +247,7 @@ public final class Color implements Serializable, Cloneable {
         return this.alpha;
     }
 
-    @Override
-    public int hashCode() {
+    private int calculateHashCode() {
         final int prime = 31;
         int result = 1;
         result = (prime * result) + Float.floatToIntBits(this.alpha);
@@ -251,6 +257,11 @@ public final class Color implements Serializable, Cloneable {
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -263,6 +274,9 @@ public final class Color implements Serializable, Cloneable {
             return false;
         }
         final Color other = (Color) obj;
+        if (this.hash != other.hash) {
+            return false;
+        }
         if (Float.floatToIntBits(this.alpha) != Float.floatToIntBits(other.alpha)) {
             return false;
         }
@@ -278,6 +292,10 @@ public final class Color implements Serializable, Cloneable {
         return true;
     }
 
+    private Object readResolve() {
+        return new Color(this.red, this.green, this.blue, this.alpha);
+    }
+
     @Override
     public Object clone() throws CloneNotSupportedException {
         return this;
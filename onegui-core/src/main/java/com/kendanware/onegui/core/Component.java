@@ -29,16 +29,22 @@
 package com.kendanware.onegui.core;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.kendanware.onegui.core.events.ClickedEvent;
 import com.kendanware.onegui.core.events.Event;
 import com.kendanware.onegui.core.events.FocusEvent;
 import com.kendanware.onegui.core.events.HoverEvent;
 import com.kendanware.onegui.core.style.Style;
+import com.kendanware.onegui.core.style.StyleDeclaration;
+import com.kendanware.onegui.core.style.StyleSnapshot;
 
 /**
  * The Component is the base object that all other controls inherit from.
@@ -54,10 +60,25 @@ public class Component {
 
     private Style style;
 
+    private volatile ResolvedStyle resolvedStyle;
+
+    // Generation of the style snapshot the style last changed in
+    private volatile long styleChangeGeneration;
+
+    private final Set<String> styleClasses = new CopyOnWriteArraySet<>();
+
     private final Container parent;
 
     private final OneGui oneGui;
 
+    private final Screen screen;
+
+    private volatile int slot = -1;
+
+    private volatile int slotGeneration;
+
+    private final AtomicLong layoutVersion = new AtomicLong(1);
+
     private final AtomicBoolean focus = new AtomicBoolean(false);
     private final AtomicBoolean hover = new AtomicBoolean(false);
     private final RegisteredEventListeners<ClickedEvent> clickedEventListeners = new RegisteredEventListeners<>();
@@ -95,9 +116,8 @@ public class Component {
         this.registerInParent(parent);
 
         if (parent != null) {
-            final Screen screen = this.getScreen(parent);
-
-            this.oneGui = screen.getOneGui();
+            this.screen = ((Component) parent).screen;
+            this.oneGui = this.screen.getOneGui();
         } else {
             throw new IllegalStateException("OneGui is null");
         }
@@ -123,30 +143,18 @@ public class Component {
 
         this.registerInParent(parent);
 
+        // Only a screen is without parent
+        this.screen = parent == null ? (Screen) this : ((Component) parent).screen;
+
         if (oneGui != null) {
             this.oneGui = oneGui;
         } else if (parent != null) {
-            final Screen screen = this.getScreen(parent);
-
-            this.oneGui = screen.getOneGui();
+            this.oneGui = this.screen.getOneGui();
         } else {
             throw new IllegalStateException("OneGui is null");
         }
     }
 
-    protected Screen getScreen(final Container parent) {
-
-        Component newParent = parent;
-        while (newParent.getParent() != null) {
-            newParent = newParent.getParent();
-        }
-
-        if (!(newParent instanceof Screen)) {
-            throw new IllegalArgumentException("No parent instance of Screen found");
-        }
-        return (Screen) newParent;
-    }
-
     protected void checkParentComponent(final Container parent) {
         if (parent == null) {
             throw new IllegalArgumentException("Parent Container is null");
@@ -157,6 +165,35 @@ public class Component {
         return oneGui;
     }
 
+    Screen getScreen() {
+        return this.screen;
+    }
+
+    /**
+     * Get the slot of the component. Every component on a screen has a unique slot, slots are small numbers starting at zero and are
+     * reused when components are removed. Renderers use the slot to index arrays instead of hashing the id.
+     *
+     * @return the slot or -1 if the component is not on a screen
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Get the generation of the slot. A slot gets a new generation every time it is assigned, so results stored by slot can be told apart
+     * from results of an earlier component in the same slot.
+     *
+     * @return the generation or 0 if the component is not on a screen
+     */
+    public int getSlotGeneration() {
+        return this.slotGeneration;
+    }
+
+    void setSlot(final int slot, final int slotGeneration) {
+        this.slot = slot;
+        this.slotGeneration = slotGeneration;
+    }
+
     public Container getParent() {
         return this.parent;
     }
@@ -173,18 +210,193 @@ public class Component {
     }
 
     /**
+     * Set a style that replaces the cascaded style of this component
+     *
      * @param style
-     *            the style to set
+     *            the style to set or null to use the cascaded style
      */
     public void setStyle(final Style style) {
+        final Style previous = this.style;
         this.style = style;
+
+        if (previous != style) {
+            this.invalidateLayout();
+        }
     }
 
     /**
-     * @return the style or null
+     * Get the style of the component. Unless a style has been set the selectors matching the component are cascaded against the style
+     * snapshot of the screen, the result is kept until the snapshot changes or the style classes of the component or a parent change.
+     *
+     * @return the style or null if no selector matches the component
      */
     public Style getStyle() {
-        return this.style;
+        if (this.style != null) {
+            return this.style;
+        }
+
+        return this.getResolvedStyle().style;
+    }
+
+    private ResolvedStyle getResolvedStyle() {
+        final StyleSnapshot styleSnapshot = this.screen.getStyleSnapshot();
+        final long generation = styleSnapshot.getGeneration();
+        ResolvedStyle resolved = this.resolvedStyle;
+
+        if ((resolved == null) || (resolved.generation != generation)) {
+            final StyleDeclaration inherited = this.parent == null ? null : ((Component) this.parent).getResolvedStyle().declaration;
+            final StyleDeclaration declaration = this.getOneGui().getStyleCascade().cascade(styleSnapshot::getDeclaration, this.getClass(),
+                    this.styleClasses, this.id, inherited);
+
+            if (declaration == null) {
+                // Nothing to render with, children still inherit through this component
+                resolved = new ResolvedStyle(generation, inherited, null);
+            } else {
+                resolved = new ResolvedStyle(generation, declaration, this.getOneGui().getStyleCascade().getStyle(declaration));
+            }
+            this.resolvedStyle = resolved;
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Bring the cascaded style up to date with a new snapshot. The cascade is only resolved again when a changed selector matches the
+     * component or the declaration of the parent changed, the layout is invalidated when the resolved style is a different style.
+     *
+     * @param previous
+     *            the snapshot the style was resolved against
+     * @param current
+     *            the new snapshot, already pinned on the screen
+     * @param changedSelectors
+     *            the selectors declared differently in the two snapshots
+     * @param parentChanged
+     *            true if the cascaded declaration of the parent changed
+     * @param changed
+     *            components whose style changed are added to this list
+     * @return true if the cascaded declaration of this component changed
+     */
+    boolean refreshStyle(final StyleSnapshot previous, final StyleSnapshot current, final Set<String> changedSelectors,
+            final boolean parentChanged, final List<Component> changed) {
+
+        final ResolvedStyle resolved = this.resolvedStyle;
+
+        if ((resolved == null) || (resolved.generation != previous.getGeneration())) {
+            // Nothing to compare with
+            this.invalidateStyle();
+            this.styleChangeGeneration = current.getGeneration();
+            changed.add(this);
+            return true;
+        }
+
+        if (!parentChanged && !this.getOneGui().getStyleCascade().matches(changedSelectors, this.getClass(), this.styleClasses, this.id)) {
+            this.resolvedStyle = new ResolvedStyle(current.getGeneration(), resolved.declaration, resolved.style);
+            return false;
+        }
+
+        this.resolvedStyle = null;
+        final ResolvedStyle updated = this.getResolvedStyle();
+
+        if ((this.style == null) && (updated.style != resolved.style)) {
+            this.invalidateLayout();
+            this.styleChangeGeneration = current.getGeneration();
+            changed.add(this);
+        }
+
+        return !Objects.equals(updated.declaration, resolved.declaration);
+    }
+
+    /**
+     * @return the generation of the style snapshot in which the style of the component last changed, 0 if it has not changed since the
+     *         first snapshot
+     */
+    long getStyleChangeGeneration() {
+        return this.styleChangeGeneration;
+    }
+
+    /**
+     * Forget the cascaded style, it is resolved again the next time it is needed
+     */
+    public void invalidateStyle() {
+        this.resolvedStyle = null;
+        this.invalidateLayout();
+    }
+
+    /**
+     * Add a style class, matched by <code>.name</code> selectors. Classes added later take precedence.
+     *
+     * @param styleClass
+     *            the style class
+     */
+    public void addStyleClass(final String styleClass) {
+        if (styleClass == null) {
+            throw new NullPointerException("Parameter styleClass is null");
+        }
+
+        if (this.styleClasses.add(styleClass)) {
+            this.invalidateStyle();
+        }
+    }
+
+    /**
+     * Remove a style class
+     *
+     * @param styleClass
+     *            the style class
+     */
+    public void removeStyleClass(final String styleClass) {
+        if (styleClass == null) {
+            throw new NullPointerException("Parameter styleClass is null");
+        }
+
+        if (this.styleClasses.remove(styleClass)) {
+            this.invalidateStyle();
+        }
+    }
+
+    /**
+     * @param styleClass
+     *            the style class
+     * @return true if the component has the style class, otherwise false
+     */
+    public boolean hasStyleClass(final String styleClass) {
+        return this.styleClasses.contains(styleClass);
+    }
+
+    /**
+     * @return the style classes, lowest priority first
+     */
+    public Set<String> getStyleClasses() {
+        return Collections.unmodifiableSet(this.styleClasses);
+    }
+
+    /**
+     * Mark the layout of this component as invalid by moving it to a new layout version. All parents are marked as well, the size of a
+     * component affects the position of its siblings and the next layout pass has to find its way down to this component.
+     */
+    public void invalidateLayout() {
+        Component component = this;
+
+        while (component != null) {
+            component.layoutVersion.incrementAndGet();
+
+            final Container parent = component.getParent();
+            if (parent != null) {
+                parent.childLayoutInvalidated(component);
+            }
+
+            component = parent;
+        }
+    }
+
+    /**
+     * Get the layout version. Every renderer remembers the version it calculated the layout for, the layout is invalid for a renderer as
+     * long as the version differs.
+     *
+     * @return the layout version, changed every time the layout is invalidated
+     */
+    public long getLayoutVersion() {
+        return this.layoutVersion.get();
     }
 
     /**
@@ -307,6 +519,23 @@ public class Component {
         this.mouseHoverEventListeners.removeListener(event);
     }
 
+    /**
+     * The cascaded style and the style generation it was resolved for
+     */
+    private static class ResolvedStyle {
+        private final long generation;
+
+        private final StyleDeclaration declaration;
+
+        private final Style style;
+
+        ResolvedStyle(final long generation, final StyleDeclaration declaration, final Style style) {
+            this.generation = generation;
+            this.declaration = declaration;
+            this.style = style;
+        }
+    }
+
     /**
      * Contains list of events listeners that should be called for a specific event
      *
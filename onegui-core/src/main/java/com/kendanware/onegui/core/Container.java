@@ -32,11 +32,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.kendanware.onegui.core.style.StyleSnapshot;
+
 /**
  * Base class for containers, for example windows and panels.
  *
@@ -69,9 +72,12 @@ public class Container extends Component {
             final List<Component> components = this.components.get();
 
             if (!components.contains(component)) {
+                this.getScreen().register(component);
+
                 final List<Component> newComponents = new ArrayList<Component>(components);
                 newComponents.add(component);
                 this.components.set(Collections.unmodifiableList(newComponents));
+                this.invalidateLayout();
             }
         } finally {
             this.componentsLock.unlock();
@@ -87,6 +93,8 @@ public class Container extends Component {
                 final List<Component> newComponents = new ArrayList<Component>(components);
                 newComponents.remove(component);
                 this.components.set(Collections.unmodifiableList(newComponents));
+                this.getScreen().unregister(component);
+                this.invalidateLayout();
             } else {
                 for (final Component current : components) {
                     if (current instanceof Container) {
@@ -99,6 +107,41 @@ public class Container extends Component {
         }
     }
 
+    /**
+     * Forget the cascaded style of this container and all components in it, children inherit from their parent
+     */
+    @Override
+    public void invalidateStyle() {
+        super.invalidateStyle();
+
+        for (final Component child : this.getChildren()) {
+            child.invalidateStyle();
+        }
+    }
+
+    @Override
+    boolean refreshStyle(final StyleSnapshot previous, final StyleSnapshot current, final Set<String> changedSelectors,
+            final boolean parentChanged, final List<Component> changed) {
+
+        final boolean declarationChanged = super.refreshStyle(previous, current, changedSelectors, parentChanged, changed);
+
+        for (final Component child : this.getChildren()) {
+            child.refreshStyle(previous, current, changedSelectors, declarationChanged, changed);
+        }
+
+        return declarationChanged;
+    }
+
+    /**
+     * Called when the layout of a child, or of a component inside the child, has been invalidated
+     *
+     * @param child
+     *            the child
+     */
+    protected void childLayoutInvalidated(final Component child) {
+        // Containers lay out all children when invalid
+    }
+
     public List<Component> getChildren() {
         return this.components.get();
     }
@@ -44,6 +44,8 @@ public final class Dimension {
 
     private final float size;
 
+    private final int hash;
+
     /**
      * Constructor
      *
@@ -60,6 +62,7 @@ public final class Dimension {
         }
         this.type = type;
         this.size = size;
+        this.hash = this.calculateHashCode();
     }
 
     /**
@@ -72,6 +75,7 @@ public final class Dimension {
         super();
         this.type = DimensionType.detectType(stringValue);
         this.size = this.type.parseSize(stringValue);
+        this.hash = this.calculateHashCode();
     }
 
     /**
@@ -88,8 +92,7 @@ public final class Dimension {
         return this.size;
     }
 
-    @Override
-    public int hashCode() {
+    private int calculateHashCode() {
         final int prime = 31;
         int result = 1;
         result = (prime * result) + ((this.type == null) ? 0 : this.type.hashCode());
@@ -97,6 +100,11 @@ public final class Dimension {
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -109,6 +117,9 @@ public final class Dimension {
             return false;
         }
         final Dimension other = (Dimension) obj;
+        if (this.hash != other.hash) {
+            return false;
+        }
         if (this.type != other.type) {
             return false;
         }
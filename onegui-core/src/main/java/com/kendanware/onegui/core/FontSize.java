@@ -44,6 +44,8 @@ public final class FontSize {
 
     private final FontSizeType type;
 
+    private final int hash;
+
     /**
      * Constructor
      * 
@@ -61,6 +63,7 @@ public final class FontSize {
 
         this.size = size;
         this.type = type;
+        this.hash = this.calculateHashCode();
     }
 
     /**
@@ -79,6 +82,7 @@ public final class FontSize {
             throw new IllegalArgumentException("Negative size is not allowed: " + size);
         }
 
+        this.hash = this.calculateHashCode();
     }
 
     /**
@@ -95,8 +99,7 @@ public final class FontSize {
         return type;
     }
 
-    @Override
-    public int hashCode() {
+    private int calculateHashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + Float.floatToIntBits(size);
@@ -104,6 +107,11 @@ public final class FontSize {
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -113,6 +121,8 @@ public final class FontSize {
         if (getClass() != obj.getClass())
             return false;
         FontSize other = (FontSize) obj;
+        if (hash != other.hash)
+            return false;
         if (Float.floatToIntBits(size) != Float.floatToIntBits(other.size))
             return false;
         if (type != other.type)
@@ -48,6 +48,8 @@ public final class GraphicsSettings {
 
     private final Rendering rendering;
 
+    private final TextRendering textRendering;
+
     /**
      * Default is high quality.
      */
@@ -57,9 +59,15 @@ public final class GraphicsSettings {
         this.imageInterpolation = ImageInterpolation.BICUBIC;
         this.alphaInterpolation = AlphaInterpolation.QUALITY;
         this.rendering = Rendering.QUALITY;
+        this.textRendering = TextRendering.DRAW_STRING;
     }
 
     public GraphicsSettings(boolean antialias, ImageInterpolation imageInterpolation, AlphaInterpolation alphaInterpolation, Rendering rendering) {
+        this(antialias, imageInterpolation, alphaInterpolation, rendering, TextRendering.DRAW_STRING);
+    }
+
+    public GraphicsSettings(boolean antialias, ImageInterpolation imageInterpolation, AlphaInterpolation alphaInterpolation, Rendering rendering,
+            TextRendering textRendering) {
         super();
         this.antialias = antialias;
 
@@ -75,9 +83,14 @@ public final class GraphicsSettings {
             throw new NullPointerException("Rendering is null");
         }
 
+        if (textRendering == null) {
+            throw new NullPointerException("TextRendering is null");
+        }
+
         this.imageInterpolation = imageInterpolation;
         this.alphaInterpolation = alphaInterpolation;
         this.rendering = rendering;
+        this.textRendering = textRendering;
     }
 
     public enum ImageInterpolation {
@@ -114,6 +127,14 @@ public final class GraphicsSettings {
         final Object value;
     }
 
+    /**
+     * How text is drawn. <code>GLYPH_ATLAS</code> blits glyphs rasterized once into a shared image and falls back to
+     * <code>DRAW_STRING</code> for text that needs shaping.
+     */
+    public enum TextRendering {
+        DRAW_STRING, GLYPH_ATLAS
+    }
+
     public boolean isAntialias() {
         return antialias;
     }
@@ -130,6 +151,10 @@ public final class GraphicsSettings {
         return rendering;
     }
 
+    public TextRendering getTextRendering() {
+        return textRendering;
+    }
+
     public void apply(final Graphics2D graphics) {
 
         if (this.antialias) {
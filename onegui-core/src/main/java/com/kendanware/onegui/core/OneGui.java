@@ -28,20 +28,43 @@
  */
 package com.kendanware.onegui.core;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.kendanware.onegui.core.assets.AssetHolder;
+import com.kendanware.onegui.core.style.CompiledStyleSheet;
 import com.kendanware.onegui.core.style.Style;
+import com.kendanware.onegui.core.style.StyleCascade;
+import com.kendanware.onegui.core.style.StyleDeclaration;
 import com.kendanware.onegui.core.style.StyleParser;
+import com.kendanware.onegui.core.style.StyleSheetStatistics;
+import com.kendanware.onegui.core.style.StyleSnapshot;
+import com.kendanware.onegui.core.style.StyleWatcher;
+import com.kendanware.onegui.core.style.StyleSource;
 
 /**
  * Main class for OneGui.
@@ -53,11 +76,21 @@ import com.kendanware.onegui.core.style.StyleParser;
  */
 public class OneGui {
 
+    private static final Logger LOG = LoggerFactory.getLogger(OneGui.class);
+
     private final Map<String, Screen> screens = new ConcurrentHashMap<>();
 
     private final Lock screensLock = new ReentrantLock();
 
-    private final Map<String, Style> styles = new ConcurrentHashMap<>();
+    // Replaced as a whole, readers always see a complete generation of styles
+    private final AtomicReference<StyleSnapshot> styleSnapshot = new AtomicReference<>(StyleSnapshot.EMPTY);
+
+    private final StyleCascade styleCascade = new StyleCascade();
+
+    // Declarations of every watched style file as last loaded
+    private final Map<Path, Map<String, StyleDeclaration>> watchedStyles = new ConcurrentHashMap<>();
+
+    private StyleWatcher styleWatcher;
 
     private final AssetHolder assetHolder;
 
@@ -116,8 +149,7 @@ public class OneGui {
     public void addStyles(final InputStream inputStream) throws IOException {
 
         try {
-            final StyleParser styleParser = new StyleParser();
-            this.styles.putAll(styleParser.parseStyle(inputStream));
+            this.addStyles(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
         } finally {
             inputStream.close();
         }
@@ -132,12 +164,228 @@ public class OneGui {
      */
     public void addStyles(final String style) throws IOException {
 
-        try (final InputStream inputStream = new ByteArrayInputStream(style.getBytes("UTF-8"))) {
+        try (final Reader reader = new StringReader(style)) {
+            this.addStyles(reader);
+        }
+    }
+
+    private void addStyles(final Reader reader) throws IOException {
+        final StyleParser styleParser = new StyleParser();
+        final Map<String, StyleDeclaration> declarations = styleParser.parseDeclarations(reader);
+
+        final Map<String, Style> styles = styleParser.getStyles(declarations);
+
+        this.styleSnapshot.updateAndGet(snapshot -> snapshot.withStyles(styles, declarations));
+    }
+
+    /**
+     * Add several style sheets. The sheets are parsed concurrently on the common fork join pool and merged in the given order, a style in
+     * a later sheet replaces the style with the same name in an earlier sheet. Nothing is added if any sheet fails to parse.
+     * 
+     * @param styleSources
+     *            the sheets in priority order, lowest first
+     * @return the statistics of each sheet in the given order
+     * @throws IOException
+     *             if a sheet could not be read
+     * @throws IllegalArgumentException
+     *             if a sheet is invalid
+     */
+    public List<StyleSheetStatistics> addStyles(final List<StyleSource> styleSources) throws IOException {
+
+        if (styleSources == null) {
+            throw new NullPointerException("Parameter styleSources is null");
+        }
+
+        final List<ForkJoinTask<ParsedStyleSheet>> tasks = new ArrayList<>(styleSources.size());
+        for (final StyleSource styleSource : styleSources) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> OneGui.parse(styleSource)));
+        }
+
+        final Map<String, Style> merged = new HashMap<>();
+        final Map<String, StyleDeclaration> mergedDeclarations = new HashMap<>();
+        final List<StyleSheetStatistics> statistics = new ArrayList<>(styleSources.size());
+
+        for (final ForkJoinTask<ParsedStyleSheet> task : tasks) {
+            final ParsedStyleSheet parsedStyleSheet = task.join();
+
+            if (parsedStyleSheet.ioException != null) {
+                throw parsedStyleSheet.ioException;
+            } else if (parsedStyleSheet.runtimeException != null) {
+                throw parsedStyleSheet.runtimeException;
+            }
+
+            merged.putAll(parsedStyleSheet.styles);
+            mergedDeclarations.putAll(parsedStyleSheet.declarations);
+            statistics.add(parsedStyleSheet.statistics);
+        }
+
+        this.styleSnapshot.updateAndGet(snapshot -> snapshot.withStyles(merged, mergedDeclarations));
+
+        return Collections.unmodifiableList(statistics);
+    }
+
+    /**
+     * Parse a sheet, failures are returned rather than thrown so the caller gets the original exception
+     */
+    private static ParsedStyleSheet parse(final StyleSource styleSource) {
+        final long start = System.nanoTime();
+
+        try (final InputStream inputStream = styleSource.open()) {
             final StyleParser styleParser = new StyleParser();
-            this.styles.putAll(styleParser.parseStyle(inputStream));
+            final Map<String, StyleDeclaration> declarations = styleParser.parseDeclarations(new InputStreamReader(inputStream,
+                    StandardCharsets.UTF_8));
+            final Map<String, Style> styles = styleParser.getStyles(declarations);
+            return new ParsedStyleSheet(styles, declarations, new StyleSheetStatistics(styleSource.getName(), styles.size(), System.nanoTime()
+                    - start), null, null);
+        } catch (final IOException e) {
+            return new ParsedStyleSheet(null, null, null, e, null);
+        } catch (final IllegalArgumentException e) {
+            return new ParsedStyleSheet(null, null, null, null, new IllegalArgumentException(styleSource.getName() + ": " + e.getMessage(), e));
+        } catch (final RuntimeException e) {
+            return new ParsedStyleSheet(null, null, null, null, e);
         }
     }
 
+    /**
+     * Load a style file and load it again every time it changes on disk. Only components whose style changes are laid out and rendered
+     * again, see <code>Screen.pinStyleSnapshot</code>. A file that fails to parse after a change is logged and the previous styles are kept.
+     * 
+     * @param path
+     *            the .ogs file
+     * @throws IOException
+     *             if the file could not be read or watched
+     * @throws IllegalArgumentException
+     *             if the file is invalid
+     */
+    public void watchStyles(final Path path) throws IOException {
+        if (path == null) {
+            throw new NullPointerException("Parameter path is null");
+        }
+
+        final Path absolute = path.toAbsolutePath().normalize();
+        this.reloadStyles(absolute);
+
+        synchronized (this.watchedStyles) {
+            if (this.styleWatcher == null) {
+                this.styleWatcher = new StyleWatcher(this::reloadWatchedStyles);
+            }
+
+            this.styleWatcher.watch(absolute);
+        }
+    }
+
+    /**
+     * Load a style file again. Selectors the file declared when it was last loaded but no longer declares are removed.
+     * 
+     * @param path
+     *            the .ogs file
+     * @throws IOException
+     *             if the file could not be read
+     * @throws IllegalArgumentException
+     *             if the file is invalid
+     */
+    public void reloadStyles(final Path path) throws IOException {
+        if (path == null) {
+            throw new NullPointerException("Parameter path is null");
+        }
+
+        final Path absolute = path.toAbsolutePath().normalize();
+        final StyleParser styleParser = new StyleParser();
+        final Map<String, StyleDeclaration> declarations;
+
+        try (final Reader reader = Files.newBufferedReader(absolute, StandardCharsets.UTF_8)) {
+            declarations = styleParser.parseDeclarations(reader);
+        }
+
+        final Map<String, Style> styles = styleParser.getStyles(declarations);
+        final Map<String, StyleDeclaration> previous = this.watchedStyles.put(absolute, declarations);
+        final Set<String> removed = new HashSet<>();
+
+        if (previous != null) {
+            removed.addAll(previous.keySet());
+            removed.removeAll(declarations.keySet());
+        }
+
+        this.styleSnapshot.updateAndGet(snapshot -> snapshot.withStyles(styles, declarations, removed));
+    }
+
+    private void reloadWatchedStyles(final Path path) {
+        try {
+            this.reloadStyles(path);
+            OneGui.LOG.info("Reloaded styles from {}", path);
+        } catch (final IOException | IllegalArgumentException e) {
+            OneGui.LOG.warn("Failed to reload styles from {}, keeping previous styles", path, e);
+        }
+    }
+
+    /**
+     * Add a compiled style sheet, see <code>StyleCompiler</code>. The file is memory mapped and styles are materialized on first lookup.
+     * Styles added as text take precedence, among compiled sheets the last added wins.
+     * 
+     * @param path
+     *            the compiled style sheet
+     * @throws IOException
+     */
+    public void addCompiledStyles(final Path path) throws IOException {
+        this.addCompiledStyles(CompiledStyleSheet.open(path));
+    }
+
+    /**
+     * Add a compiled style sheet
+     * 
+     * @param compiledStyleSheet
+     *            the compiled style sheet
+     */
+    public void addCompiledStyles(final CompiledStyleSheet compiledStyleSheet) {
+        if (compiledStyleSheet == null) {
+            throw new NullPointerException("Parameter compiledStyleSheet is null");
+        }
+
+        this.styleSnapshot.updateAndGet(snapshot -> snapshot.withCompiledStyleSheet(compiledStyleSheet));
+    }
+
+    /**
+     * Get the style of a component, looking in text styles first and then in compiled style sheets
+     * 
+     * @param id
+     *            the id of the component
+     * @return the style or null if there is no style for the id
+     */
+    public Style getStyle(final String id) {
+        return this.styleSnapshot.get().getStyle(id);
+    }
+
+    /**
+     * Get the declared values of a selector, looking in text styles first and then in compiled style sheets
+     * 
+     * @param selector
+     *            the selector, see <code>StyleCascade</code>
+     * @return the declaration or null if the selector is not declared
+     */
+    public StyleDeclaration getDeclaration(final String selector) {
+        return this.styleSnapshot.get().getDeclaration(selector);
+    }
+
+    /**
+     * @return a number that changes every time styles are added or removed
+     */
+    public long getStyleGeneration() {
+        return this.styleSnapshot.get().getGeneration();
+    }
+
+    /**
+     * Get the current styles. The snapshot never changes, a layout pass that keeps the snapshot sees one consistent generation of styles.
+     * 
+     * @return the current snapshot
+     */
+    public StyleSnapshot getStyleSnapshot() {
+        return this.styleSnapshot.get();
+    }
+
+    StyleCascade getStyleCascade() {
+        return this.styleCascade;
+    }
+
     /**
      * Remove style
      * 
@@ -145,11 +393,11 @@ public class OneGui {
      *            the style to remove
      */
     public void removeStyle(final String styleName) {
-        this.styles.remove(styleName);
+        this.styleSnapshot.updateAndGet(snapshot -> snapshot.withoutStyle(styleName));
     }
 
     public Map<String, Style> getStyles() {
-        return Collections.unmodifiableMap(styles);
+        return this.styleSnapshot.get().getStyles();
     }
 
     public AssetHolder getAssetHolder() {
@@ -168,5 +416,37 @@ public class OneGui {
 
     public void shutdown() {
         this.executorService.shutdown();
+
+        synchronized (this.watchedStyles) {
+            if (this.styleWatcher != null) {
+                try {
+                    this.styleWatcher.close();
+                } catch (final IOException e) {
+                    OneGui.LOG.warn("Failed to stop watching styles", e);
+                }
+                this.styleWatcher = null;
+            }
+        }
+    }
+
+    private static class ParsedStyleSheet {
+        private final Map<String, Style> styles;
+
+        private final Map<String, StyleDeclaration> declarations;
+
+        private final StyleSheetStatistics statistics;
+
+        private final IOException ioException;
+
+        private final RuntimeException runtimeException;
+
+        ParsedStyleSheet(final Map<String, Style> styles, final Map<String, StyleDeclaration> declarations,
+                final StyleSheetStatistics statistics, final IOException ioException, final RuntimeException runtimeException) {
+            this.styles = styles;
+            this.declarations = declarations;
+            this.statistics = statistics;
+            this.ioException = ioException;
+            this.runtimeException = runtimeException;
+        }
     }
 }
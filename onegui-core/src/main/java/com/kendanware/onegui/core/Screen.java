@@ -28,7 +28,16 @@
  */
 package com.kendanware.onegui.core;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.kendanware.onegui.core.style.StyleSnapshot;
 
 /**
  * Root screen from
@@ -43,6 +52,22 @@ public class Screen extends Container {
 
     private final OneGui oneGui;
 
+    private volatile StyleSnapshot styleSnapshot;
+
+    // Guards pinning a snapshot and refreshing the styles against it
+    private final Object styleLock = new Object();
+
+    // All components on the screen by id, including the screen itself
+    private final Map<String, Component> components = new ConcurrentHashMap<>();
+
+    // Components by slot, slots of removed components are reused
+    private final List<Component> slots = new ArrayList<>();
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    // Incremented every time a slot is assigned, guarded by slots
+    private int slotGeneration;
+
     public Screen(final OneGui oneGui) {
         this(oneGui, UUID.randomUUID().toString());
     }
@@ -50,6 +75,97 @@ public class Screen extends Container {
     public Screen(final OneGui oneGui, final String id) {
         super(oneGui, null, id);
         this.oneGui = oneGui;
+        this.register(this);
+    }
+
+    /**
+     * Find a component on the screen
+     *
+     * @param id
+     *            the id
+     * @return the component or null if there is no component with the id
+     */
+    public Component findById(final String id) {
+        if (id == null) {
+            throw new NullPointerException("Parameter id is null");
+        }
+
+        return this.components.get(id);
+    }
+
+    /**
+     * Get a component by slot
+     *
+     * @param slot
+     *            the slot, see <code>Component.getSlot()</code>
+     * @return the component or null if the slot is not in use
+     */
+    public Component getComponent(final int slot) {
+        synchronized (this.slots) {
+            return (slot >= 0) && (slot < this.slots.size()) ? this.slots.get(slot) : null;
+        }
+    }
+
+    /**
+     * @return one more than the highest slot in use, the size needed for arrays indexed by slot
+     */
+    public int getSlotCount() {
+        synchronized (this.slots) {
+            return this.slots.size();
+        }
+    }
+
+    /**
+     * Add a component to the id index and assign it a slot. Called while the component is constructed, components in it register themselves when they are
+     * constructed.
+     *
+     * @param component
+     *            the component
+     * @throws IllegalArgumentException
+     *             if another component already uses an id
+     */
+    void register(final Component component) {
+        final Component existing = this.components.putIfAbsent(component.getId(), component);
+
+        if ((existing != null) && (existing != component)) {
+            throw new IllegalArgumentException("Invalid id; already in use: " + component.getId());
+        }
+
+        if (existing == null) {
+            synchronized (this.slots) {
+                final Integer free = this.freeSlots.poll();
+
+                if (free == null) {
+                    component.setSlot(this.slots.size(), ++this.slotGeneration);
+                    this.slots.add(component);
+                } else {
+                    component.setSlot(free, ++this.slotGeneration);
+                    this.slots.set(free, component);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove a component and all components in it from the id index and release their slots
+     *
+     * @param component
+     *            the component
+     */
+    void unregister(final Component component) {
+        if (this.components.remove(component.getId(), component)) {
+            synchronized (this.slots) {
+                this.slots.set(component.getSlot(), null);
+                this.freeSlots.push(component.getSlot());
+                component.setSlot(-1, 0);
+            }
+        }
+
+        if (component instanceof Container) {
+            for (final Component child : ((Container) component).getChildren()) {
+                this.unregister(child);
+            }
+        }
     }
 
     @Override
@@ -67,4 +183,72 @@ public class Screen extends Container {
         return oneGui;
     }
 
+    /**
+     * Keep using a snapshot of the styles until the next call, called by every renderer before each layout pass. Styles changed in the
+     * meantime are not seen halfway through a frame. When the generation changes only components matched by a changed selector, or
+     * inheriting from a changed parent, have their style resolved again. The first snapshot pinned invalidates every component.
+     * <p>
+     * Several renderers can show the same screen, each passes the snapshot it pinned last and gets the components changed since then, also
+     * when another renderer pinned the newer snapshot first.
+     *
+     * @param previous
+     *            the snapshot pinned by the caller last time, null on the first call
+     * @param styleSnapshot
+     *            the snapshot to use
+     * @return the components whose style changed since <code>previous</code>, their layout has been invalidated
+     */
+    public List<Component> pinStyleSnapshot(final StyleSnapshot previous, final StyleSnapshot styleSnapshot) {
+        if (styleSnapshot == null) {
+            throw new NullPointerException("Parameter styleSnapshot is null");
+        }
+
+        final List<Component> changed = new ArrayList<>();
+        final StyleSnapshot pinned;
+
+        synchronized (this.styleLock) {
+            pinned = this.styleSnapshot;
+            this.styleSnapshot = styleSnapshot;
+
+            if (pinned == null) {
+                this.invalidateStyle();
+            } else if (pinned.getGeneration() != styleSnapshot.getGeneration()) {
+                this.refreshStyle(pinned, styleSnapshot, styleSnapshot.getChangedSelectors(pinned), false, changed);
+            }
+        }
+
+        if ((previous == null) || (previous.getGeneration() == styleSnapshot.getGeneration())) {
+            return Collections.emptyList();
+        }
+
+        if ((pinned != null) && (pinned.getGeneration() == previous.getGeneration())) {
+            return changed;
+        }
+
+        // Another caller refreshed the styles first
+        final List<Component> changedSince = new ArrayList<>();
+        Screen.collectStyleChanges(this, previous.getGeneration(), changedSince);
+
+        return changedSince;
+    }
+
+    private static void collectStyleChanges(final Component component, final long generation, final List<Component> changed) {
+        if (component.getStyleChangeGeneration() > generation) {
+            changed.add(component);
+        }
+
+        if (component instanceof Container) {
+            for (final Component child : ((Container) component).getChildren()) {
+                Screen.collectStyleChanges(child, generation, changed);
+            }
+        }
+    }
+
+    /**
+     * @return the pinned snapshot, or the current snapshot of <code>OneGui</code> if none has been pinned
+     */
+    public StyleSnapshot getStyleSnapshot() {
+        final StyleSnapshot pinned = this.styleSnapshot;
+        return pinned != null ? pinned : this.oneGui.getStyleSnapshot();
+    }
+
 }
@@ -28,8 +28,6 @@
  */
 package com.kendanware.onegui.core;
 
-import java.util.List;
-
 /**
  * Contains various validation methods.
  *
@@ -41,7 +39,7 @@ import java.util.List;
 public class Validation {
 
     /**
-     * Check that the id is unique. Scan the tree of components for the id
+     * Check that the id is unique on the screen of the component, using the id index of the screen
      *
      * @param id
      *            the id to check
@@ -58,28 +56,8 @@ public class Validation {
             return;
         }
 
-        Component parent = component;
-        while (parent.getParent() != null) {
-            parent = parent.getParent();
-        }
-
-        Validation.checkIdTraverse(parent, id);
-    }
-
-    protected static void checkIdTraverse(final Component component, final String id) {
-
-        if (id.equals(component.getId())) {
+        if (component.getScreen().findById(id) != null) {
             throw new IllegalArgumentException("Invalid id; already in use: " + id);
         }
-
-        if (component instanceof Container) {
-            final Container container = (Container) component;
-
-            final List<Component> list = container.getChildren();
-
-            for (final Component child : list) {
-                Validation.checkIdTraverse(child, id);
-            }
-        }
     }
 }
@@ -49,6 +49,10 @@ public class AssetHolder {
 
     private final ImageResourceFactory imageResourceFactory;
 
+    private final GlyphAtlasFactory glyphAtlasFactory;
+
+    private final TextMetricsCache textMetricsCache = new TextMetricsCache();
+
     /**
      * Constructor, should be used in most cases
      */
@@ -63,9 +67,22 @@ public class AssetHolder {
      * @param imageResourceFactory
      */
     public AssetHolder(final FontResourceFactory fontResourceFactory, final ImageResourceFactory imageResourceFactory) {
+        this(fontResourceFactory, imageResourceFactory, new GlyphAtlasFactory());
+    }
+
+    /**
+     * Alternative constructor for specifying specific factories.
+     * 
+     * @param fontResourceFactory
+     * @param imageResourceFactory
+     * @param glyphAtlasFactory
+     */
+    public AssetHolder(final FontResourceFactory fontResourceFactory, final ImageResourceFactory imageResourceFactory,
+            final GlyphAtlasFactory glyphAtlasFactory) {
         super();
         this.fontResourceFactory = fontResourceFactory;
         this.imageResourceFactory = imageResourceFactory;
+        this.glyphAtlasFactory = glyphAtlasFactory;
     }
 
     /**
@@ -96,6 +113,62 @@ public class AssetHolder {
         return this.fontResourceFactory.getFont(resource, size, FontStyle.NORMAL);
     }
 
+    /**
+     * Get the glyph atlas of a font in a specific size and style
+     * 
+     * @param resource
+     *            the resource path to the .TTF
+     * @param size
+     *            the size in pixels
+     * @param style
+     *            the style
+     * @param antialias
+     *            true if glyphs are rasterized with antialiasing
+     * @return the atlas
+     */
+    public GlyphAtlas getGlyphAtlas(final String resource, final int size, final FontStyle style, final boolean antialias) {
+        final Font font = this.getFont(resource, size, style);
+        return this.glyphAtlasFactory.getGlyphAtlas(font, resource, size, style, antialias);
+    }
+
+    /**
+     * Measure a text in a font of a specific size and style
+     * 
+     * @param resource
+     *            the resource path to the .TTF
+     * @param size
+     *            the size in pixels
+     * @param style
+     *            the style
+     * @param antialias
+     *            true if the text is rendered with antialiasing
+     * @param text
+     *            the text
+     * @return the measurements
+     */
+    public TextMetrics getTextMetrics(final String resource, final int size, final FontStyle style, final boolean antialias, final String text) {
+        final Font font = this.getFont(resource, size, style);
+        return this.textMetricsCache.getTextMetrics(font, resource, size, style, antialias, text);
+    }
+
+    public TextMetricsCache getTextMetricsCache() {
+        return this.textMetricsCache;
+    }
+
+    /**
+     * @return the number of times a font file has been parsed
+     */
+    public long getFontParseCount() {
+        return this.fontResourceFactory.getParseCount();
+    }
+
+    /**
+     * @return the total time spent parsing font files in nanoseconds
+     */
+    public long getFontParseNanos() {
+        return this.fontResourceFactory.getParseNanos();
+    }
+
     /**
      * Get an image from resource in a specific size
      * 
@@ -113,4 +186,11 @@ public class AssetHolder {
         return this.imageResourceFactory.getImage(resource, width, height);
     }
 
+    /**
+     * @return hit, miss and eviction statistics of the image cache
+     */
+    public ImageCacheStatistics getImageCacheStatistics() {
+        return this.imageResourceFactory.getCacheStatistics();
+    }
+
 }
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.kendanware.onegui.core.FontStyle;
 
@@ -51,6 +52,10 @@ public class FontResourceFactory {
 
     private final Map<FontResourceKey, Font> fonts = new ConcurrentHashMap<>();
 
+    private final AtomicLong parseCount = new AtomicLong();
+
+    private final AtomicLong parseNanos = new AtomicLong();
+
     /**
      * Get a specific font
      * 
@@ -71,21 +76,37 @@ public class FontResourceFactory {
             return cached;
         }
 
-        Font baseFont = this.baseFonts.get(resource);
+        // Only one thread parses a font, concurrent callers wait for the result
+        final Font baseFont = this.baseFonts.computeIfAbsent(resource, this::parseFont);
 
-        if (baseFont == null) {
-            try {
-                baseFont = this.createFont(resource);
-            } catch (IOException | FontFormatException e) {
-                throw new RuntimeException("Failed to load font: " + resource, e);
-            }
-        }
+        return this.fonts.computeIfAbsent(key, k -> baseFont.deriveFont(style.getStyle(), size));
+    }
+
+    /**
+     * @return the number of times a font file has been parsed
+     */
+    public long getParseCount() {
+        return this.parseCount.get();
+    }
 
-        final Font derivedFont = baseFont.deriveFont(style.getStyle(), size);
+    /**
+     * @return the total time spent parsing font files in nanoseconds
+     */
+    public long getParseNanos() {
+        return this.parseNanos.get();
+    }
 
-        this.fonts.put(key, derivedFont);
+    private Font parseFont(final String resource) {
+        final long start = System.nanoTime();
 
-        return derivedFont;
+        try {
+            return this.createFont(resource);
+        } catch (IOException | FontFormatException e) {
+            throw new RuntimeException("Failed to load font: " + resource, e);
+        } finally {
+            this.parseCount.incrementAndGet();
+            this.parseNanos.addAndGet(System.nanoTime() - start);
+        }
     }
 
     /**
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.text.Bidi;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Glyphs of one font rasterized once into a shared coverage image. Text is drawn by copying the cached glyphs, which is much cheaper than
+ * <code>Graphics2D.drawString</code>. The coverage is tinted to the text color when drawing, the most recently used colors are kept tinted.
+ * Kerning and ligatures are not applied, text that needs shaping must be drawn with <code>drawString</code>, see
+ * {@link #isSupported(String)}.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class GlyphAtlas {
+
+    private static final int INITIAL_SIZE = 256;
+
+    private static final int PADDING = 1;
+
+    private static final int MAX_TINTS = 8;
+
+    private final Font font;
+
+    private final FontRenderContext fontRenderContext;
+
+    private final Map<Integer, Glyph> glyphs = new HashMap<>();
+
+    private final Map<Integer, Tint> tints = new LinkedHashMap<Integer, Tint>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, Tint> eldest) {
+            return this.size() > GlyphAtlas.MAX_TINTS;
+        }
+    };
+
+    private BufferedImage image;
+
+    private int version;
+
+    private int cursorX;
+
+    private int cursorY;
+
+    private int rowHeight;
+
+    /**
+     * Constructor
+     *
+     * @param font
+     *            the font
+     * @param antialias
+     *            true if glyphs are rasterized with antialiasing
+     */
+    public GlyphAtlas(final Font font, final boolean antialias) {
+        super();
+
+        if (font == null) {
+            throw new NullPointerException("Parameter font is null");
+        }
+
+        this.font = font;
+        this.fontRenderContext = new FontRenderContext(null, antialias, false);
+        this.image = new BufferedImage(GlyphAtlas.INITIAL_SIZE, GlyphAtlas.INITIAL_SIZE, BufferedImage.TYPE_4BYTE_ABGR);
+    }
+
+    /**
+     * Check if the text can be drawn from the atlas. Text with right to left or complex scripts, combining marks, characters outside the
+     * basic multilingual plane or characters missing in the font must be drawn with <code>drawString</code>.
+     *
+     * @param text
+     *            the text
+     * @return true if the text can be drawn by {@link #drawString(Graphics2D, String, Color, float, float)}
+     */
+    public boolean isSupported(final String text) {
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+
+            if (Character.isSurrogate(c) || !this.font.canDisplay(c)) {
+                return false;
+            }
+
+            switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.FORMAT:
+                return false;
+            default:
+                break;
+            }
+
+            switch (Character.UnicodeScript.of(c)) {
+            case COMMON:
+            case LATIN:
+            case GREEK:
+            case CYRILLIC:
+                break;
+            default:
+                return false;
+            }
+        }
+
+        return !Bidi.requiresBidi(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Draw text from the atlas, glyphs not in the atlas yet are rasterized first
+     *
+     * @param graphics
+     *            the graphics to draw on
+     * @param text
+     *            the text, must be supported
+     * @param color
+     *            the text color
+     * @param x
+     *            the x coordinate of the start of the text
+     * @param y
+     *            the y coordinate of the baseline
+     */
+    public synchronized void drawString(final Graphics2D graphics, final String text, final Color color, final float x, final float y) {
+
+        // Rasterize missing glyphs before tinting so the tinted image covers the whole text
+        for (int i = 0; i < text.length(); i++) {
+            this.getGlyph(text.charAt(i));
+        }
+
+        final BufferedImage tinted = this.getTint(color);
+        float position = x;
+
+        for (int i = 0; i < text.length(); i++) {
+            final Glyph glyph = this.glyphs.get((int) text.charAt(i));
+
+            if (glyph.width > 0) {
+                final int destinationX = Math.round(position) + glyph.offsetX;
+                final int destinationY = Math.round(y) + glyph.offsetY;
+
+                graphics.drawImage(tinted, destinationX, destinationY, destinationX + glyph.width, destinationY + glyph.height, glyph.x,
+                        glyph.y, glyph.x + glyph.width, glyph.y + glyph.height, null);
+            }
+
+            position += glyph.advance;
+        }
+    }
+
+    /**
+     * @return the number of glyphs rasterized into the atlas
+     */
+    public synchronized int getGlyphCount() {
+        return this.glyphs.size();
+    }
+
+    /**
+     * @return the number of colors kept tinted
+     */
+    synchronized int getTintCount() {
+        return this.tints.size();
+    }
+
+    public Font getFont() {
+        return this.font;
+    }
+
+    /**
+     * Get the coverage tinted to a color, tinted again if glyphs were added since
+     */
+    private BufferedImage getTint(final Color color) {
+        Tint tint = this.tints.get(color.getRGB());
+
+        if (tint != null && tint.version == this.version) {
+            return tint.image;
+        }
+
+        if (tint == null) {
+            tint = new Tint();
+            this.tints.put(color.getRGB(), tint);
+        }
+
+        if (tint.image == null || tint.image.getWidth() != this.image.getWidth() || tint.image.getHeight() != this.image.getHeight()) {
+            tint.image = new BufferedImage(this.image.getWidth(), this.image.getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
+        }
+
+        final Graphics2D graphics = tint.image.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, tint.image.getWidth(), tint.image.getHeight());
+            graphics.setComposite(AlphaComposite.DstIn);
+            graphics.drawImage(this.image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        tint.version = this.version;
+
+        return tint.image;
+    }
+
+    private Glyph getGlyph(final char c) {
+        final Glyph cached = this.glyphs.get((int) c);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final GlyphVector glyphVector = this.font.createGlyphVector(this.fontRenderContext, new char[] { c });
+        final Rectangle bounds = glyphVector.getPixelBounds(this.fontRenderContext, 0, 0);
+        final float advance = (float) glyphVector.getGlyphPosition(1).getX();
+
+        final Glyph glyph = new Glyph();
+        glyph.advance = advance;
+
+        if (!bounds.isEmpty()) {
+            this.reserve(bounds.width, bounds.height);
+
+            final Graphics2D graphics = this.image.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                        this.fontRenderContext.isAntiAliased() ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+                graphics.setComposite(AlphaComposite.Src);
+                graphics.setColor(Color.WHITE);
+                graphics.drawGlyphVector(glyphVector, this.cursorX - bounds.x, this.cursorY - bounds.y);
+            } finally {
+                graphics.dispose();
+            }
+
+            glyph.x = this.cursorX;
+            glyph.y = this.cursorY;
+            glyph.width = bounds.width;
+            glyph.height = bounds.height;
+            glyph.offsetX = bounds.x;
+            glyph.offsetY = bounds.y;
+
+            this.cursorX += bounds.width + GlyphAtlas.PADDING;
+            this.rowHeight = Math.max(this.rowHeight, bounds.height);
+            this.version++;
+        }
+
+        this.glyphs.put((int) c, glyph);
+
+        return glyph;
+    }
+
+    /**
+     * Move the cursor to a free area of the requested size, growing the atlas if needed
+     */
+    private void reserve(final int width, final int height) {
+
+        if (this.cursorX + width > this.image.getWidth()) {
+            this.cursorX = 0;
+            this.cursorY += this.rowHeight + GlyphAtlas.PADDING;
+            this.rowHeight = 0;
+        }
+
+        final int requiredWidth = Math.max(this.image.getWidth(), width);
+        int requiredHeight = this.image.getHeight();
+        while (this.cursorY + height > requiredHeight) {
+            requiredHeight *= 2;
+        }
+
+        if (requiredWidth != this.image.getWidth() || requiredHeight != this.image.getHeight()) {
+            final BufferedImage grown = new BufferedImage(requiredWidth, requiredHeight, BufferedImage.TYPE_4BYTE_ABGR);
+            final Graphics2D graphics = grown.createGraphics();
+            try {
+                graphics.drawImage(this.image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            this.image = grown;
+        }
+    }
+
+    private static class Glyph {
+        private int x;
+
+        private int y;
+
+        private int width;
+
+        private int height;
+
+        private int offsetX;
+
+        private int offsetY;
+
+        private float advance;
+    }
+
+    private static class Tint {
+        private BufferedImage image;
+
+        private int version;
+    }
+}
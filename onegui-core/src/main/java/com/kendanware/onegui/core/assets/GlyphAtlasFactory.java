@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import java.awt.Font;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.kendanware.onegui.core.FontStyle;
+
+/**
+ * Factory that keeps one <code>GlyphAtlas</code> per font and antialias setting, the atlases are shared by all text colors.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class GlyphAtlasFactory {
+
+    private final Map<GlyphAtlasKey, GlyphAtlas> atlases = new ConcurrentHashMap<>();
+
+    /**
+     * Get the atlas of a font
+     * 
+     * @param font
+     *            the font, as returned by the <code>FontResourceFactory</code>
+     * @param resource
+     *            the resource name of the font
+     * @param size
+     *            the size in pixels
+     * @param style
+     *            the font style
+     * @param antialias
+     *            true if glyphs are rasterized with antialiasing
+     * @return the atlas
+     */
+    public GlyphAtlas getGlyphAtlas(final Font font, final String resource, final int size, final FontStyle style, final boolean antialias) {
+        final GlyphAtlasKey key = new GlyphAtlasKey(new FontResourceKey(resource, size, style), antialias);
+
+        return this.atlases.computeIfAbsent(key, k -> new GlyphAtlas(font, antialias));
+    }
+
+    /**
+     * @return the number of atlases
+     */
+    public int size() {
+        return this.atlases.size();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+/**
+ * This class is used by the <code>GlyphAtlasFactory</code> for caching of glyph atlases.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+final class GlyphAtlasKey {
+    private final FontResourceKey fontResourceKey;
+
+    private final boolean antialias;
+
+    /**
+     * Constructor
+     * 
+     * @param fontResourceKey
+     *            the font
+     * @param antialias
+     *            true if glyphs are rasterized with antialiasing
+     */
+    public GlyphAtlasKey(final FontResourceKey fontResourceKey, final boolean antialias) {
+        super();
+        this.fontResourceKey = fontResourceKey;
+        this.antialias = antialias;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((fontResourceKey == null) ? 0 : fontResourceKey.hashCode());
+        result = prime * result + (antialias ? 1231 : 1237);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        GlyphAtlasKey other = (GlyphAtlasKey) obj;
+        if (fontResourceKey == null) {
+            if (other.fontResourceKey != null)
+                return false;
+        } else if (!fontResourceKey.equals(other.fontResourceKey))
+            return false;
+        if (antialias != other.antialias)
+            return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "GlyphAtlasKey [fontResourceKey=" + fontResourceKey + ", antialias=" + antialias + "]";
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of images bounded by the total number of bytes held by the image rasters
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class ImageCache {
+
+    private final Map<ImageResourceKey, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final long maximumBytes;
+
+    private long bytes;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Constructor
+     *
+     * @param maximumBytes
+     *            the budget in bytes
+     */
+    public ImageCache(final long maximumBytes) {
+        super();
+
+        if (maximumBytes < 0) {
+            throw new IllegalArgumentException("Parameter maximumBytes is negative");
+        }
+
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * Get a cached image and mark it as most recently used
+     *
+     * @param key
+     *            the key
+     * @return the image or null if not cached
+     */
+    public synchronized BufferedImage get(final ImageResourceKey key) {
+        final BufferedImage bufferedImage = this.images.get(key);
+
+        if (bufferedImage == null) {
+            this.missCount++;
+        } else {
+            this.hitCount++;
+        }
+
+        return bufferedImage;
+    }
+
+    /**
+     * Add an image, least recently used images are evicted until the cache is within budget again. Images larger than the budget are not
+     * cached at all.
+     *
+     * @param key
+     *            the key
+     * @param bufferedImage
+     *            the image
+     */
+    public synchronized void put(final ImageResourceKey key, final BufferedImage bufferedImage) {
+        final long size = ImageCache.sizeOf(bufferedImage);
+
+        if (size > this.maximumBytes) {
+            return;
+        }
+
+        final BufferedImage previous = this.images.put(key, bufferedImage);
+
+        if (previous != null) {
+            this.bytes -= ImageCache.sizeOf(previous);
+        }
+
+        this.bytes += size;
+
+        for (final Iterator<Map.Entry<ImageResourceKey, BufferedImage>> iterator = this.images.entrySet().iterator(); this.bytes > this.maximumBytes
+                && iterator.hasNext();) {
+            final Map.Entry<ImageResourceKey, BufferedImage> eldest = iterator.next();
+
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+
+            this.bytes -= ImageCache.sizeOf(eldest.getValue());
+            this.evictionCount++;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Remove all images, the statistics are kept
+     */
+    public synchronized void clear() {
+        this.images.clear();
+        this.bytes = 0;
+    }
+
+    /**
+     * @return a snapshot of the cache statistics
+     */
+    public synchronized ImageCacheStatistics getStatistics() {
+        return new ImageCacheStatistics(this.hitCount, this.missCount, this.evictionCount, this.images.size(), this.bytes, this.maximumBytes);
+    }
+
+    /**
+     * Calculate the number of bytes used by the raster of an image
+     *
+     * @param bufferedImage
+     *            the image
+     * @return the size in bytes
+     */
+    static long sizeOf(final BufferedImage bufferedImage) {
+        final DataBuffer dataBuffer = bufferedImage.getRaster().getDataBuffer();
+        return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() * (DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8);
+    }
+}
@@ -37,8 +37,12 @@ import java.awt.image.ColorModel;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Map;
+import java.lang.ref.SoftReference;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Load and cache images
@@ -50,18 +54,38 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ImageResourceFactory {
 
-    // TODO: implement least recently used cache
-    private final Map<ImageResourceKey, BufferedImage> images = new ConcurrentHashMap<>();
+    /**
+     * Default image cache budget, 64 MB
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024L * 1024L;
+
+    private final ImageCache images;
+
+    // One decode per resource at a time, callers asking for a resource being decoded wait for that decode only
+    private final ConcurrentMap<String, Future<SoftReference<MipmapChain>>> sources = new ConcurrentHashMap<>();
 
     private final GraphicsSettings graphicsSettings;
 
     public ImageResourceFactory(final GraphicsSettings graphicsSettings) {
+        this(graphicsSettings, ImageResourceFactory.DEFAULT_MAXIMUM_BYTES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param graphicsSettings
+     *            the graphics settings used when resizing
+     * @param maximumBytes
+     *            the budget in bytes for cached images
+     */
+    public ImageResourceFactory(final GraphicsSettings graphicsSettings, final long maximumBytes) {
         super();
         if (graphicsSettings == null) {
             throw new NullPointerException("GraphicsSettings is null");
         }
 
         this.graphicsSettings = graphicsSettings;
+        this.images = new ImageCache(maximumBytes);
     }
 
     /**
@@ -85,7 +109,8 @@ public class ImageResourceFactory {
             return cached;
         }
 
-        final BufferedImage bufferedImage = loadImage(resource);
+        final MipmapChain source = this.getSource(resource);
+        final BufferedImage bufferedImage = source.getOriginal();
 
         if (bufferedImage.getWidth() == width && bufferedImage.getHeight() == height) {
             this.images.put(key, bufferedImage);
@@ -93,7 +118,7 @@ public class ImageResourceFactory {
             return bufferedImage;
         }
 
-        final BufferedImage resizedImage = resizeImage(bufferedImage, width, height);
+        final BufferedImage resizedImage = resizeImage(source.getLevel(this, width, height), width, height);
 
         this.images.put(key, resizedImage);
 
@@ -118,6 +143,91 @@ public class ImageResourceFactory {
         return this.clone(this.getImage(resource, width, height));
     }
 
+    /**
+     * @return a snapshot of the image cache statistics
+     */
+    public ImageCacheStatistics getCacheStatistics() {
+        return this.images.getStatistics();
+    }
+
+    /**
+     * Get the decoded source of a resource, the source is decoded once and kept as long as memory allows. Different resources are decoded
+     * concurrently, a resource is decoded by one caller while other callers wait for it. Failures are not kept.
+     * 
+     * @param resource
+     *            the resource
+     * @return the source with its pre-scaled levels
+     * @throws IOException
+     */
+    MipmapChain getSource(final String resource) throws IOException {
+        while (true) {
+            Future<SoftReference<MipmapChain>> future = this.sources.get(resource);
+
+            if (future == null) {
+                final FutureTask<SoftReference<MipmapChain>> task = new FutureTask<>(() -> new SoftReference<>(this.decode(resource)));
+                future = this.sources.putIfAbsent(resource, task);
+
+                if (future == null) {
+                    future = task;
+                    task.run();
+                }
+            }
+
+            final MipmapChain source = this.await(resource, future).get();
+
+            if (source != null) {
+                return source;
+            }
+
+            // Collected, drop the cleared reference and decode again
+            this.sources.remove(resource, future);
+        }
+    }
+
+    private MipmapChain decode(final String resource) throws IOException {
+        final BufferedImage bufferedImage = this.loadImage(resource);
+
+        if (bufferedImage == null) {
+            throw new IOException("Unable to decode image " + resource);
+        }
+
+        return new MipmapChain(bufferedImage);
+    }
+
+    private SoftReference<MipmapChain> await(final String resource, final Future<SoftReference<MipmapChain>> future) throws IOException {
+
+        // Wait even when interrupted, the decode is shared with other callers
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    this.sources.remove(resource, future);
+
+                    final Throwable cause = e.getCause();
+
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+
+                    throw new IOException("Unable to decode image " + resource, cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /**
      * Load an image from resource
      * 
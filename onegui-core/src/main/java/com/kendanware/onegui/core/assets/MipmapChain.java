@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A decoded source image together with pre-scaled levels, each level half the size of the previous one. Resizing starts from the
+ * smallest level that is still at least as large as the requested size.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+class MipmapChain {
+
+    private final List<BufferedImage> levels = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param original
+     *            the decoded original, level zero
+     */
+    MipmapChain(final BufferedImage original) {
+        super();
+        this.levels.add(original);
+    }
+
+    /**
+     * @return the decoded original
+     */
+    BufferedImage getOriginal() {
+        return this.levels.get(0);
+    }
+
+    /**
+     * Get the level to resize from, levels are created on demand
+     *
+     * @param imageResourceFactory
+     *            the factory used for scaling a level down
+     * @param width
+     *            the requested width
+     * @param height
+     *            the requested height
+     * @return the smallest level at least as large as the requested size, or the original if the requested size is larger
+     * @throws IOException
+     */
+    synchronized BufferedImage getLevel(final ImageResourceFactory imageResourceFactory, final int width, final int height) throws IOException {
+        BufferedImage level = this.levels.get(0);
+
+        for (int index = 1;; index++) {
+            final int nextWidth = level.getWidth() / 2;
+            final int nextHeight = level.getHeight() / 2;
+
+            if ((nextWidth < width) || (nextHeight < height) || (nextWidth == 0) || (nextHeight == 0)) {
+                return level;
+            }
+
+            if (index == this.levels.size()) {
+                this.levels.add(imageResourceFactory.resizeImage(level, nextWidth, nextHeight));
+            }
+
+            level = this.levels.get(index);
+        }
+    }
+
+    /**
+     * @return the number of levels created so far
+     */
+    synchronized int getLevelCount() {
+        return this.levels.size();
+    }
+}
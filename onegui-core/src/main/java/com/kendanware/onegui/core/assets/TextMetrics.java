@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+/**
+ * Immutable measurements of a text in a specific font.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class TextMetrics {
+
+    private final int width;
+
+    private final int height;
+
+    private final int ascent;
+
+    private final int descent;
+
+    public TextMetrics(final int width, final int height, final int ascent, final int descent) {
+        super();
+        this.width = width;
+        this.height = height;
+        this.ascent = ascent;
+        this.descent = descent;
+    }
+
+    /**
+     * @return the advance width of the text in pixels
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return the line height of the font in pixels
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getAscent() {
+        return this.ascent;
+    }
+
+    public int getDescent() {
+        return this.descent;
+    }
+
+    @Override
+    public String toString() {
+        return "TextMetrics [width=" + this.width + ", height=" + this.height + ", ascent=" + this.ascent + ", descent=" + this.descent + "]";
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.kendanware.onegui.core.FontStyle;
+
+/**
+ * Bounded least recently used cache of text measurements. Measuring does not need the <code>Graphics2D</code> being rendered to, so the
+ * cache can be used from layout as well as from rendering.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class TextMetricsCache {
+
+    /**
+     * Default maximum number of cached measurements
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final Map<Key, TextMetrics> metrics;
+
+    private final Graphics2D[] graphics = new Graphics2D[2];
+
+    private long hitCount;
+
+    private long missCount;
+
+    public TextMetricsCache() {
+        this(TextMetricsCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maximumSize
+     *            the maximum number of cached measurements
+     */
+    public TextMetricsCache(final int maximumSize) {
+        super();
+
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Parameter maximumSize must be positive");
+        }
+
+        this.metrics = new LinkedHashMap<Key, TextMetrics>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, TextMetrics> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Measure a text
+     *
+     * @param font
+     *            the font, as returned by the <code>FontResourceFactory</code>
+     * @param resource
+     *            the resource name of the font
+     * @param size
+     *            the size in pixels
+     * @param style
+     *            the font style
+     * @param antialias
+     *            true if the text is rendered with antialiasing
+     * @param text
+     *            the text
+     * @return the measurements
+     */
+    public synchronized TextMetrics getTextMetrics(final Font font, final String resource, final int size, final FontStyle style,
+            final boolean antialias, final String text) {
+        final Key key = new Key(new FontResourceKey(resource, size, style), antialias, text);
+        final TextMetrics cached = this.metrics.get(key);
+
+        if (cached != null) {
+            this.hitCount++;
+            return cached;
+        }
+
+        this.missCount++;
+
+        final FontMetrics fontMetrics = this.getGraphics(antialias).getFontMetrics(font);
+        final TextMetrics textMetrics = new TextMetrics(fontMetrics.stringWidth(text), fontMetrics.getHeight(), fontMetrics.getAscent(),
+                fontMetrics.getDescent());
+
+        this.metrics.put(key, textMetrics);
+
+        return textMetrics;
+    }
+
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * @return the number of cached measurements
+     */
+    public synchronized int size() {
+        return this.metrics.size();
+    }
+
+    /**
+     * Graphics with the same font render context as the component renderers, only used for measuring
+     */
+    private Graphics2D getGraphics(final boolean antialias) {
+        final int index = antialias ? 1 : 0;
+
+        if (this.graphics[index] == null) {
+            final Graphics2D created = new BufferedImage(1, 1, BufferedImage.TYPE_4BYTE_ABGR).createGraphics();
+            created.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias ? RenderingHints.VALUE_ANTIALIAS_ON
+                    : RenderingHints.VALUE_ANTIALIAS_OFF);
+            this.graphics[index] = created;
+        }
+
+        return this.graphics[index];
+    }
+
+    private static final class Key {
+        private final FontResourceKey fontResourceKey;
+
+        private final boolean antialias;
+
+        private final String text;
+
+        private final int hash;
+
+        private Key(final FontResourceKey fontResourceKey, final boolean antialias, final String text) {
+            this.fontResourceKey = fontResourceKey;
+            this.antialias = antialias;
+            this.text = text;
+            this.hash = (31 * ((31 * fontResourceKey.hashCode()) + (antialias ? 1231 : 1237))) + text.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return (this.hash == other.hash) && (this.antialias == other.antialias) && this.text.equals(other.text)
+                    && this.fontResourceKey.equals(other.fontResourceKey);
+        }
+    }
+}
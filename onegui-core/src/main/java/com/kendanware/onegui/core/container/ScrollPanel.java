@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.container;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.kendanware.onegui.core.Component;
+import com.kendanware.onegui.core.Container;
+
+/**
+ * The <code>ScrollPanel</code> stacks its children from the top and shows the part of them inside its own bounds, moved up by the scroll
+ * offset. Only the children intersecting the viewport are laid out and rendered, a panel with a huge number of rows costs about the same
+ * per frame as the rows that are visible.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class ScrollPanel extends Container {
+
+    private volatile float scrollOffset;
+
+    // Guards changeCount and changes
+    private final Object changeLock = new Object();
+
+    private long changeCount;
+
+    // The last change of every child that changed
+    private final Map<Component, Long> changes = new HashMap<>();
+
+    // The same changes ordered by change count, every renderer reads the changes after the count it has seen last
+    private final NavigableMap<Long, Component> changedChildren = new ConcurrentSkipListMap<>();
+
+    public ScrollPanel(final Container parent) {
+        super(parent);
+    }
+
+    public ScrollPanel(final Container parent, final String id) {
+        super(parent, id);
+    }
+
+    /**
+     * @return the requested scroll offset in pixels, the renderer limits it to the height of the content
+     */
+    public float getScrollOffset() {
+        return this.scrollOffset;
+    }
+
+    /**
+     * Scroll the content
+     *
+     * @param scrollOffset
+     *            the distance in pixels from the top of the content to the top of the viewport
+     */
+    public void setScrollOffset(final float scrollOffset) {
+        final float offset = Math.max(0.0f, scrollOffset);
+
+        if (offset != this.scrollOffset) {
+            this.scrollOffset = offset;
+
+            // The children keep their extents, only the parents have to be visited by the next layout
+            if (this.getParent() != null) {
+                this.getParent().invalidateLayout();
+            }
+        }
+    }
+
+    @Override
+    protected void childLayoutInvalidated(final Component child) {
+        synchronized (this.changeLock) {
+            final long change = ++this.changeCount;
+            final Long previous = this.changes.put(child, change);
+
+            if (previous != null) {
+                this.changedChildren.remove(previous);
+            }
+
+            this.changedChildren.put(change, child);
+        }
+    }
+
+    @Override
+    public void removeComponent(final Component component) {
+        super.removeComponent(component);
+
+        synchronized (this.changeLock) {
+            final Long previous = this.changes.remove(component);
+
+            if (previous != null) {
+                this.changedChildren.remove(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the number of times the layout of a child has been invalidated
+     */
+    public long getChangeCount() {
+        synchronized (this.changeLock) {
+            return this.changeCount;
+        }
+    }
+
+    /**
+     * Get the children whose layout has been invalidated after a change count. Every renderer remembers the change count it has measured
+     * the children for and measures only these children again.
+     *
+     * @param changeCount
+     *            the change count seen last, see {@link #getChangeCount()}
+     * @return the children in the order of their last change
+     */
+    public Collection<Component> getChangedChildren(final long changeCount) {
+        return this.changedChildren.tailMap(changeCount, false).values();
+    }
+
+    /**
+     * Scroll the content by a distance
+     *
+     * @param distance
+     *            pixels to scroll, negative to scroll up
+     */
+    public void scrollBy(final float distance) {
+        this.setScrollOffset(this.scrollOffset + distance);
+    }
+}
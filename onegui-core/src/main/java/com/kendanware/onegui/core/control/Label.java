@@ -135,7 +135,10 @@ public class Label extends Control {
             throw new NullPointerException("Parameter text is null");
         }
 
-        this.text = text;
+        if (!text.equals(this.text)) {
+            this.text = text;
+            this.invalidateLayout();
+        }
     }
 
     /**
@@ -54,6 +54,9 @@ public class TextControl extends Control {
     }
 
     public void setText(final String text) {
-        this.text = text;
+        if ((text == null) ? (this.text != null) : !text.equals(this.text)) {
+            this.text = text;
+            this.invalidateLayout();
+        }
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Produces frames of a <code>OneGuiRenderer</code> on a background thread, so a slow frame does not stall the render thread. Frames are
+ * triple buffered: the producer renders into a back buffer and publishes it, the render thread picks up the latest published frame without
+ * waiting. A published frame that is replaced before it is picked up is counted as dropped.
+ * <p>
+ * Once started the producer thread is the only thread calling <code>update</code> and <code>generateImage</code> of the renderer. Frames
+ * must be picked up by one thread.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class AsyncFrameProducer implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncFrameProducer.class);
+
+    private static final int INDEX = 3;
+
+    // Set on the shared buffer index when it holds a frame not picked up yet
+    private static final int FRESH = 4;
+
+    private final OneGuiRenderer oneGuiRenderer;
+
+    private final Frame[] frames = { new Frame(), new Frame(), new Frame() };
+
+    // Index of the buffer between producer and render thread, the other two are owned by one thread each
+    private final AtomicInteger shared = new AtomicInteger(0);
+
+    private int back = 1;
+
+    private int front = 2;
+
+    // Time of the oldest request not handled yet, zero when there is none
+    private final AtomicLong requestedAt = new AtomicLong();
+
+    // Time per frame accumulated over the requests not handled yet, as float bits
+    private final AtomicInteger pendingTpf = new AtomicInteger();
+
+    private final AtomicLong frameCount = new AtomicLong();
+
+    private final AtomicLong droppedFrameCount = new AtomicLong();
+
+    private volatile long latency;
+
+    private volatile boolean closed;
+
+    private final Thread thread;
+
+    /**
+     * Constructor, starts the producer thread
+     *
+     * @param oneGuiRenderer
+     *            the renderer, must not be used by other threads until the producer has been closed
+     */
+    public AsyncFrameProducer(final OneGuiRenderer oneGuiRenderer) {
+        if (oneGuiRenderer == null) {
+            throw new NullPointerException("Parameter oneGuiRenderer is null");
+        }
+
+        this.oneGuiRenderer = oneGuiRenderer;
+        this.thread = new Thread(this::run, "onegui-frame-producer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Ask for a new frame, never blocks. Requests made while a frame is being produced are served by one frame.
+     *
+     * @param tpf
+     *            time per frame, passed to <code>OneGuiRenderer.update</code>
+     */
+    public void requestFrame(final float tpf) {
+        this.pendingTpf.updateAndGet(bits -> Float.floatToIntBits(Float.intBitsToFloat(bits) + tpf));
+
+        if (this.requestedAt.compareAndSet(0, System.nanoTime())) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    /**
+     * Get the latest completed frame, never blocks. The frame and its image belong to the caller until the next call, after that the
+     * producer may render into it again.
+     *
+     * @return the latest frame or null if no frame has been completed yet
+     */
+    public Frame getFrame() {
+        if ((this.shared.get() & AsyncFrameProducer.FRESH) != 0) {
+            this.front = this.shared.getAndSet(this.front) & AsyncFrameProducer.INDEX;
+        }
+
+        final Frame frame = this.frames[this.front];
+
+        return frame.image == null ? null : frame;
+    }
+
+    /**
+     * @return the number of frames completed
+     */
+    public long getFrameCount() {
+        return this.frameCount.get();
+    }
+
+    /**
+     * @return the number of completed frames replaced by a newer frame before being picked up
+     */
+    public long getDroppedFrameCount() {
+        return this.droppedFrameCount.get();
+    }
+
+    /**
+     * @return nanoseconds from the request to the completion of the latest frame
+     */
+    public long getLatency() {
+        return this.latency;
+    }
+
+    private void run() {
+        while (!this.closed) {
+            final long requested = this.requestedAt.getAndSet(0);
+
+            if (requested == 0) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            final float tpf = Float.intBitsToFloat(this.pendingTpf.getAndSet(0));
+
+            try {
+                this.produce(tpf, requested);
+            } catch (final RuntimeException e) {
+                AsyncFrameProducer.LOG.error("Failed to produce frame", e);
+            }
+        }
+
+        AsyncFrameProducer.LOG.debug("Frame producer stopped");
+    }
+
+    private void produce(final float tpf, final long requested) {
+        this.oneGuiRenderer.update(tpf);
+        final BufferedImage image = this.oneGuiRenderer.generateImage();
+
+        final Frame frame = this.frames[this.back];
+        frame.image = AsyncFrameProducer.copy(image, frame.image);
+        frame.number = this.frameCount.get() + 1;
+        frame.latency = System.nanoTime() - requested;
+
+        final int previous = this.shared.getAndSet(this.back | AsyncFrameProducer.FRESH);
+        this.back = previous & AsyncFrameProducer.INDEX;
+
+        if ((previous & AsyncFrameProducer.FRESH) != 0) {
+            this.droppedFrameCount.incrementAndGet();
+        }
+
+        this.latency = frame.latency;
+        this.frameCount.incrementAndGet();
+    }
+
+    private static BufferedImage copy(final BufferedImage source, final BufferedImage target) {
+        if ((target == null) || (target.getWidth() != source.getWidth()) || (target.getHeight() != source.getHeight())
+                || (target.getType() != source.getType())) {
+
+            final BufferedImage copy = new BufferedImage(source.getWidth(), source.getHeight(), source.getType());
+            copy.setData(source.getRaster());
+            return copy;
+        }
+
+        if ((source.getRaster().getDataBuffer() instanceof DataBufferByte) && (target.getRaster().getDataBuffer() instanceof DataBufferByte)) {
+            final byte[] from = ((DataBufferByte) source.getRaster().getDataBuffer()).getData();
+            final byte[] to = ((DataBufferByte) target.getRaster().getDataBuffer()).getData();
+
+            if (from.length == to.length) {
+                System.arraycopy(from, 0, to, 0, from.length);
+                return target;
+            }
+        }
+
+        target.setData(source.getRaster());
+        return target;
+    }
+
+    /**
+     * Stop the producer thread, a frame being produced is completed first
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.thread);
+
+        try {
+            this.thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A completed frame
+     */
+    public static final class Frame {
+
+        private BufferedImage image;
+
+        private long number;
+
+        private long latency;
+
+        /**
+         * @return the screen image
+         */
+        public BufferedImage getImage() {
+            return this.image;
+        }
+
+        /**
+         * @return the number of the frame, starting at one
+         */
+        public long getNumber() {
+            return this.number;
+        }
+
+        /**
+         * @return nanoseconds from the request to the completion of the frame
+         */
+        public long getLatency() {
+            return this.latency;
+        }
+    }
+}
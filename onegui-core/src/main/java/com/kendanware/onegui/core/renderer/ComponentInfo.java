@@ -47,6 +47,8 @@ public final class ComponentInfo {
 
     private final boolean visible;
 
+    private final int hash;
+
     /**
      * Constructor
      * 
@@ -68,6 +70,7 @@ public final class ComponentInfo {
         this.width = width;
         this.height = height;
         this.visible = visible;
+        this.hash = this.calculateHashCode();
     }
 
     public float getX() {
@@ -86,8 +89,11 @@ public final class ComponentInfo {
         return height;
     }
 
-    @Override
-    public int hashCode() {
+    public boolean isVisible() {
+        return visible;
+    }
+
+    private int calculateHashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + Float.floatToIntBits(height);
@@ -98,6 +104,11 @@ public final class ComponentInfo {
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -107,6 +118,8 @@ public final class ComponentInfo {
         if (getClass() != obj.getClass())
             return false;
         ComponentInfo other = (ComponentInfo) obj;
+        if (hash != other.hash)
+            return false;
         if (Float.floatToIntBits(height) != Float.floatToIntBits(other.height))
             return false;
         if (visible != other.visible)
@@ -33,12 +33,14 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.kendanware.onegui.core.Screen;
 import com.kendanware.onegui.core.container.Panel;
+import com.kendanware.onegui.core.container.ScrollPanel;
 import com.kendanware.onegui.core.control.Button;
 import com.kendanware.onegui.core.control.Label;
 import com.kendanware.onegui.core.renderer.component.ButtonRenderer;
 import com.kendanware.onegui.core.renderer.component.LabelRenderer;
 import com.kendanware.onegui.core.renderer.component.PanelRenderer;
 import com.kendanware.onegui.core.renderer.component.ScreenRenderer;
+import com.kendanware.onegui.core.renderer.component.ScrollPanelRenderer;
 
 /**
  * Contains references to all available <code>ComponentRenderer</code>s.
@@ -55,6 +57,7 @@ public class ComponentRendererFactory {
     static {
         ComponentRendererFactory.setRenderHandler(Screen.class, new ScreenRenderer());
         ComponentRendererFactory.setRenderHandler(Panel.class, new PanelRenderer());
+        ComponentRendererFactory.setRenderHandler(ScrollPanel.class, new ScrollPanelRenderer());
         ComponentRendererFactory.setRenderHandler(Label.class, new LabelRenderer());
         ComponentRendererFactory.setRenderHandler(Button.class, new ButtonRenderer());
     }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.kendanware.onegui.core.Component;
+import com.kendanware.onegui.core.Container;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.renderer.component.ContainerRenderer;
+import com.kendanware.onegui.core.style.Style;
+
+/**
+ * Keeps track of the screen area covered by every component between frames and reports the areas that have to be composited again.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+class DamageTracker {
+
+    private final Map<String, Damage> damages = new HashMap<>();
+
+    private long frame;
+
+    /**
+     * Compare the current tree with the previous frame and collect the changed areas
+     *
+     * @param oneGuiRenderer
+     *            the renderer holding the layout
+     * @param screen
+     *            the screen
+     * @param screenBounds
+     *            the bounds of the screen image
+     * @return merged dirty regions in screen coordinates, empty if nothing changed
+     */
+    List<Rectangle> collect(final OneGuiRenderer oneGuiRenderer, final Screen screen, final Rectangle screenBounds) {
+        this.frame++;
+
+        final List<Rectangle> regions = new ArrayList<>();
+        this.collect(oneGuiRenderer, screen, 0, 0, regions);
+
+        // Components that are gone leave their old area behind
+        for (final Iterator<Map.Entry<String, Damage>> iterator = this.damages.entrySet().iterator(); iterator.hasNext();) {
+            final Map.Entry<String, Damage> entry = iterator.next();
+
+            if (entry.getValue().frame != this.frame) {
+                regions.add(entry.getValue().bounds);
+                oneGuiRenderer.release(entry.getKey());
+                iterator.remove();
+            }
+        }
+
+        return DamageTracker.merge(regions, screenBounds);
+    }
+
+    /**
+     * Forget everything, next call to collect will report the whole screen
+     */
+    void reset() {
+        this.damages.clear();
+    }
+
+    private void collect(final OneGuiRenderer oneGuiRenderer, final Component component, final int parentX, final int parentY,
+            final List<Rectangle> regions) {
+
+        final ComponentInfo componentInfo = oneGuiRenderer.getComponentInfo(component);
+
+        if (componentInfo == null) {
+            return;
+        }
+
+        final Rectangle bounds = new Rectangle(parentX + Math.round(componentInfo.getX()), parentY + Math.round(componentInfo.getY()),
+                Math.round(componentInfo.getWidth()), Math.round(componentInfo.getHeight()));
+
+        final ComponentRenderer componentRenderer = ComponentRendererFactory.getRenderHandler(component.getClass());
+
+        // Containers are composited from their children, only their own style affects the pixels they own
+        final RenderingState renderingState = component instanceof Container ? null : componentRenderer.getState(oneGuiRenderer, component,
+                componentInfo);
+        final Style style = component.getStyle();
+
+        Damage damage = this.damages.get(component.getId());
+
+        if (damage == null) {
+            damage = new Damage();
+            this.damages.put(component.getId(), damage);
+            regions.add(bounds);
+        } else if (!bounds.equals(damage.bounds)) {
+            regions.add(damage.bounds);
+            regions.add(bounds);
+        } else if ((style != damage.style) || !Objects.equals(renderingState, damage.renderingState)) {
+            regions.add(bounds);
+        }
+
+        damage.bounds = bounds;
+        damage.style = style;
+        damage.renderingState = renderingState;
+        damage.frame = this.frame;
+
+        if (componentRenderer instanceof ContainerRenderer) {
+            for (final Component child : ((ContainerRenderer) componentRenderer).getVisibleChildren(oneGuiRenderer, component)) {
+                this.collect(oneGuiRenderer, child, bounds.x, bounds.y, regions);
+            }
+        }
+    }
+
+    /**
+     * Clip regions to the screen and merge overlapping regions
+     *
+     * @param regions
+     *            the regions
+     * @param screenBounds
+     *            the screen bounds
+     * @return list of non overlapping regions
+     */
+    static List<Rectangle> merge(final List<Rectangle> regions, final Rectangle screenBounds) {
+        final List<Rectangle> merged = new ArrayList<>();
+
+        for (final Rectangle region : regions) {
+            Rectangle current = region.intersection(screenBounds);
+
+            if (current.isEmpty()) {
+                continue;
+            }
+
+            boolean grown = true;
+            while (grown) {
+                grown = false;
+
+                for (final Iterator<Rectangle> iterator = merged.iterator(); iterator.hasNext();) {
+                    final Rectangle other = iterator.next();
+
+                    if (other.intersects(current)) {
+                        current = current.union(other);
+                        iterator.remove();
+                        grown = true;
+                    }
+                }
+            }
+
+            merged.add(current);
+        }
+
+        return merged;
+    }
+
+    private static class Damage {
+        private Rectangle bounds;
+
+        private Style style;
+
+        private RenderingState renderingState;
+
+        private long frame;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import com.kendanware.onegui.core.Align;
+import com.kendanware.onegui.core.ChildLayout;
+import com.kendanware.onegui.core.Dimension;
+import com.kendanware.onegui.core.VerticalAlign;
+import com.kendanware.onegui.core.style.Style;
+
+/**
+ * The layout properties of a style compiled into evaluators. The dimension types are classified once when a style is bound to a component,
+ * the layout of a frame only evaluates the arithmetic. The results are the same as the corresponding methods in <code>RendererMath</code>.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class LayoutDescriptor {
+
+    private final Style style;
+
+    final Evaluator width;
+
+    final Evaluator height;
+
+    final Evaluator paddingLeft;
+
+    final Evaluator paddingRight;
+
+    final Evaluator paddingTop;
+
+    final Evaluator paddingBottom;
+
+    final Evaluator marginLeft;
+
+    final Evaluator marginRight;
+
+    final Evaluator marginTop;
+
+    final Evaluator marginBottom;
+
+    final ChildLayout childLayout;
+
+    final Align align;
+
+    final VerticalAlign verticalAlign;
+
+    private LayoutDescriptor(final Style style) {
+        this.style = style;
+        this.width = LayoutDescriptor.width(style, true);
+        this.height = LayoutDescriptor.height(style, true);
+
+        // Same dimension directions as used by the layout in RendererMath
+        this.paddingLeft = LayoutDescriptor.marginPaddingWidth(style, style.getPaddingLeft());
+        this.paddingRight = LayoutDescriptor.marginPaddingWidth(style, style.getPaddingRight());
+        this.paddingTop = LayoutDescriptor.marginPaddingHeight(style, style.getPaddingTop());
+        this.paddingBottom = LayoutDescriptor.marginPaddingHeight(style, style.getPaddingBottom());
+        this.marginLeft = LayoutDescriptor.marginPaddingWidth(style, style.getMarginLeft());
+        this.marginRight = LayoutDescriptor.marginPaddingWidth(style, style.getMarginRight());
+        this.marginTop = LayoutDescriptor.marginPaddingWidth(style, style.getMarginTop());
+        this.marginBottom = LayoutDescriptor.marginPaddingWidth(style, style.getMarginBottom());
+
+        this.childLayout = style.getChildLayout();
+        this.align = style.getAlign();
+        this.verticalAlign = style.getVerticalAlign();
+    }
+
+    /**
+     * Compile the layout properties of a style
+     *
+     * @param style
+     *            the style
+     * @return the layout descriptor
+     * @throws NullPointerException
+     *             if <code>style</code> or one of its dimensions is null
+     */
+    public static LayoutDescriptor compile(final Style style) {
+        if (style == null) {
+            throw new NullPointerException("Style is null");
+        }
+
+        return new LayoutDescriptor(style);
+    }
+
+    /**
+     * @return the style the descriptor was compiled from
+     */
+    public Style getStyle() {
+        return this.style;
+    }
+
+    /**
+     * @param parentWidth
+     *            the parent width in pixels, after padding has been applied
+     * @param parentHeight
+     *            the parent height in pixels, after padding has been applied
+     * @return the width in pixels, see <code>RendererMath.getWidth</code>
+     */
+    public float getWidth(final float parentWidth, final float parentHeight) {
+        return this.width.evaluate(parentWidth, parentHeight);
+    }
+
+    /**
+     * @param parentWidth
+     *            the parent width in pixels, after padding has been applied
+     * @param parentHeight
+     *            the parent height in pixels, after padding has been applied
+     * @return the height in pixels, see <code>RendererMath.getHeight</code>
+     */
+    public float getHeight(final float parentWidth, final float parentHeight) {
+        return this.height.evaluate(parentWidth, parentHeight);
+    }
+
+    /**
+     * @param width
+     *            the width of the component in pixels
+     * @param height
+     *            the height of the component in pixels
+     * @return the width left for children after padding has been applied
+     */
+    public float getInnerWidth(final float width, final float height) {
+        return width - (this.paddingLeft.evaluate(width, height) + this.paddingRight.evaluate(width, height));
+    }
+
+    /**
+     * @param width
+     *            the width of the component in pixels
+     * @param height
+     *            the height of the component in pixels
+     * @return the height left for children after padding has been applied
+     */
+    public float getInnerHeight(final float width, final float height) {
+        return height - (this.paddingTop.evaluate(width, height) + this.paddingBottom.evaluate(width, height));
+    }
+
+    private static Evaluator width(final Style style, final boolean allowHeightBased) {
+        final Dimension dimension = style.getWidth();
+
+        switch (dimension.getType()) {
+        case PIXEL:
+            return new Evaluator(Evaluator.PIXEL_WIDTH, dimension.getSize(), null, null);
+        case PERCENT:
+            return new Evaluator(Evaluator.PERCENT_WIDTH, dimension.getSize() / 100.0f, null, null);
+        case PERCENT_HEIGHT:
+            return allowHeightBased ? new Evaluator(Evaluator.SCALED, dimension.getSize() / 100.0f, LayoutDescriptor.height(style, false), null)
+                    : Evaluator.invalid("Dimension relative to height is not allowed");
+        case PERCENT_WIDTH:
+            return Evaluator.invalid("Dimension relative to width is not allowed");
+        default:
+            return Evaluator.invalid("Unknown dimension: " + dimension);
+        }
+    }
+
+    private static Evaluator height(final Style style, final boolean allowWidthBased) {
+        final Dimension dimension = style.getHeight();
+
+        switch (dimension.getType()) {
+        case PIXEL:
+            return new Evaluator(Evaluator.PIXEL_HEIGHT, dimension.getSize(), null, null);
+        case PERCENT:
+            return new Evaluator(Evaluator.PERCENT_HEIGHT, dimension.getSize() / 100.0f, null, null);
+        case PERCENT_WIDTH:
+            return allowWidthBased ? new Evaluator(Evaluator.SCALED, dimension.getSize() / 100.0f, LayoutDescriptor.width(style, false), null)
+                    : Evaluator.invalid("Dimension relative to width is not allowed");
+        case PERCENT_HEIGHT:
+            return Evaluator.invalid("Dimension relative to height is not allowed");
+        default:
+            return Evaluator.invalid("Unknown dimension: " + style.getWidth());
+        }
+    }
+
+    private static Evaluator marginPaddingWidth(final Style style, final Dimension dimension) {
+        if (dimension == null) {
+            throw new NullPointerException("Dimension is null");
+        }
+
+        switch (dimension.getType()) {
+        case PIXEL:
+            return new Evaluator(Evaluator.PIXEL_WIDTH, dimension.getSize(), null, null);
+        case PERCENT:
+            return new Evaluator(Evaluator.PERCENT_WIDTH, dimension.getSize() / 100.0f, null, null);
+        case PERCENT_HEIGHT:
+            return new Evaluator(Evaluator.SCALED, dimension.getSize() / 100.0f, LayoutDescriptor.height(style, false), null);
+        case PERCENT_WIDTH:
+            return Evaluator.invalid("Dimension relative to width is not allowed");
+        default:
+            return Evaluator.invalid("Unknown dimension: " + dimension);
+        }
+    }
+
+    private static Evaluator marginPaddingHeight(final Style style, final Dimension dimension) {
+        if (dimension == null) {
+            throw new NullPointerException("Dimension is null");
+        }
+
+        switch (dimension.getType()) {
+        case PIXEL:
+            return new Evaluator(Evaluator.PIXEL_HEIGHT, dimension.getSize(), null, null);
+        case PERCENT:
+            return new Evaluator(Evaluator.PERCENT_HEIGHT, dimension.getSize() / 100.0f, null, null);
+        case PERCENT_WIDTH:
+            return new Evaluator(Evaluator.SCALED, dimension.getSize() / 100.0f, LayoutDescriptor.width(style, false), null);
+        case PERCENT_HEIGHT:
+            return Evaluator.invalid("Dimension relative to height is not allowed");
+        default:
+            return Evaluator.invalid("Unknown dimension: " + dimension);
+        }
+    }
+
+    /**
+     * One dimension with its type resolved to a kind of arithmetic
+     */
+    static final class Evaluator {
+
+        static final int PIXEL_WIDTH = 0;
+
+        static final int PIXEL_HEIGHT = 1;
+
+        static final int PERCENT_WIDTH = 2;
+
+        static final int PERCENT_HEIGHT = 3;
+
+        static final int SCALED = 4;
+
+        static final int INVALID = 5;
+
+        private final int kind;
+
+        // Pixel size or percent factor
+        private final float value;
+
+        private final Evaluator base;
+
+        // Evaluating an invalid dimension fails the same way as RendererMath, compiling it does not
+        private final String message;
+
+        private Evaluator(final int kind, final float value, final Evaluator base, final String message) {
+            this.kind = kind;
+            this.value = value;
+            this.base = base;
+            this.message = message;
+        }
+
+        private static Evaluator invalid(final String message) {
+            return new Evaluator(Evaluator.INVALID, 0.0f, null, message);
+        }
+
+        float evaluate(final float width, final float height) {
+            switch (this.kind) {
+            case PIXEL_WIDTH:
+                return width < this.value ? width : this.value;
+            case PIXEL_HEIGHT:
+                return height < this.value ? height : this.value;
+            case PERCENT_WIDTH:
+                return width * this.value;
+            case PERCENT_HEIGHT:
+                return height * this.value;
+            case SCALED:
+                return this.base.evaluate(width, height) * this.value;
+            default:
+                throw new IllegalArgumentException(this.message);
+            }
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.kendanware.onegui.core.Component;
+
+import com.kendanware.onegui.core.style.Style;
+
+/**
+ * Layout results stored by component slot, see <code>Component.getSlot()</code>. Positions and sizes are kept in one array per field
+ * instead of one object per component, so a layout pass writes primitives and does not hash ids. Different slots can be written by
+ * different threads, provided {@link #ensureCapacity(int)} has been called for all slots first. Otherwise the store is owned by the thread
+ * doing layout and rendering.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class LayoutStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private float[] x = new float[LayoutStore.INITIAL_CAPACITY];
+
+    private float[] y = new float[LayoutStore.INITIAL_CAPACITY];
+
+    private float[] width = new float[LayoutStore.INITIAL_CAPACITY];
+
+    private float[] height = new float[LayoutStore.INITIAL_CAPACITY];
+
+    // Flags in arrays of their own rather than bit sets, slots sharing a word could not be written by different threads
+    private boolean[] visible = new boolean[LayoutStore.INITIAL_CAPACITY];
+
+    private boolean[] present = new boolean[LayoutStore.INITIAL_CAPACITY];
+
+    // Slot generation of the component the slot was claimed by, a slot reused by another component is claimed again
+    private int[] generations = new int[LayoutStore.INITIAL_CAPACITY];
+
+    // Layout version of the component the slot was last laid out for, see Component.getLayoutVersion()
+    private long[] layoutVersions = new long[LayoutStore.INITIAL_CAPACITY];
+
+    // ComponentInfo handed out for a slot, dropped when the slot changes
+    private ComponentInfo[] componentInfos = new ComponentInfo[LayoutStore.INITIAL_CAPACITY];
+
+    // Compiled style of the component in a slot, kept across layouts until the component is bound to another style
+    private LayoutDescriptor[] layoutDescriptors = new LayoutDescriptor[LayoutStore.INITIAL_CAPACITY];
+
+    private ScrollLayout[] scrollLayouts = new ScrollLayout[LayoutStore.INITIAL_CAPACITY];
+
+    // Components that were laid out in a viewport and are outside it now
+    private final Queue<Component> hidden = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Store the layout of a slot
+     *
+     * @param slot
+     *            the slot
+     * @param x
+     *            the horizontal position relative to the parent
+     * @param y
+     *            the vertical position relative to the parent
+     * @param width
+     *            the width
+     * @param height
+     *            the height
+     * @param visible
+     *            true if visible, otherwise false
+     * @return true if the slot had no layout or a different layout, otherwise false
+     */
+    public boolean set(final int slot, final float x, final float y, final float width, final float height, final boolean visible) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("Invalid slot: " + slot);
+        }
+
+        this.ensureCapacity(slot + 1);
+
+        if (this.present[slot] && (Float.floatToIntBits(this.x[slot]) == Float.floatToIntBits(x))
+                && (Float.floatToIntBits(this.y[slot]) == Float.floatToIntBits(y))
+                && (Float.floatToIntBits(this.width[slot]) == Float.floatToIntBits(width))
+                && (Float.floatToIntBits(this.height[slot]) == Float.floatToIntBits(height)) && (this.visible[slot] == visible)) {
+            return false;
+        }
+
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.width[slot] = width;
+        this.height[slot] = height;
+        this.visible[slot] = visible;
+        this.present[slot] = true;
+        this.componentInfos[slot] = null;
+
+        return true;
+    }
+
+    /**
+     * Claim the slot of a component before laying it out. Everything stored for an earlier component in the same slot is forgotten.
+     *
+     * @param component
+     *            the component
+     * @return the slot of the component
+     */
+    public int claim(final Component component) {
+        final int slot = component.getSlot();
+
+        if (slot < 0) {
+            throw new IllegalArgumentException("Component is not on a screen: " + component);
+        }
+
+        this.ensureCapacity(slot + 1);
+
+        if (this.generations[slot] != component.getSlotGeneration()) {
+            this.remove(slot);
+            this.generations[slot] = component.getSlotGeneration();
+        }
+
+        return slot;
+    }
+
+    /**
+     * @param component
+     *            the component
+     * @return true if the layout of the component was calculated for its current layout version, otherwise false
+     */
+    public boolean isValid(final Component component) {
+        return this.isClaimedBy(component) && (this.layoutVersions[component.getSlot()] == component.getLayoutVersion());
+    }
+
+    /**
+     * Remember that the layout of a slot has been calculated, called once the layout of the component and everything inside it succeeded
+     *
+     * @param slot
+     *            the slot
+     * @param layoutVersion
+     *            the layout version of the component when its layout was started
+     */
+    public void validate(final int slot, final long layoutVersion) {
+        this.layoutVersions[slot] = layoutVersion;
+    }
+
+    /**
+     * Get the compiled layout properties of a component, see {@link #getLayoutDescriptor(int, Style)}
+     *
+     * @param component
+     *            the component, its slot is claimed
+     * @return the layout descriptor
+     */
+    public LayoutDescriptor getLayoutDescriptor(final Component component) {
+        return this.getLayoutDescriptor(this.claim(component), component.getStyle());
+    }
+
+    /**
+     * Get the compiled layout properties of a slot. The descriptor is compiled when the slot is first laid out with the style and reused
+     * as long as the same style instance is passed, styles are interned so this is an identity check.
+     *
+     * @param slot
+     *            the slot
+     * @param style
+     *            the current style of the component in the slot
+     * @return the layout descriptor
+     */
+    public LayoutDescriptor getLayoutDescriptor(final int slot, final Style style) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("Invalid slot: " + slot);
+        }
+
+        this.ensureCapacity(slot + 1);
+
+        LayoutDescriptor layoutDescriptor = this.layoutDescriptors[slot];
+
+        if ((layoutDescriptor == null) || (layoutDescriptor.getStyle() != style)) {
+            layoutDescriptor = LayoutDescriptor.compile(style);
+            this.layoutDescriptors[slot] = layoutDescriptor;
+        }
+
+        return layoutDescriptor;
+    }
+
+    /**
+     * @param slot
+     *            the slot of a <code>ScrollPanel</code>
+     * @return the scroll layout or null if the slot has not been laid out as a scroll panel
+     */
+    public ScrollLayout getScrollLayout(final int slot) {
+        return (slot >= 0) && (slot < this.scrollLayouts.length) ? this.scrollLayouts[slot] : null;
+    }
+
+    /**
+     * @param component
+     *            a <code>ScrollPanel</code>
+     * @return the scroll layout or null if the component has not been laid out as a scroll panel
+     */
+    public ScrollLayout getScrollLayout(final Component component) {
+        return this.isClaimedBy(component) ? this.scrollLayouts[component.getSlot()] : null;
+    }
+
+    ScrollLayout getOrCreateScrollLayout(final int slot) {
+        this.ensureCapacity(slot + 1);
+
+        if (this.scrollLayouts[slot] == null) {
+            this.scrollLayouts[slot] = new ScrollLayout();
+        }
+
+        return this.scrollLayouts[slot];
+    }
+
+    /**
+     * Forget the layout of a component that left a viewport
+     *
+     * @param component
+     *            the component
+     */
+    void hide(final Component component) {
+        this.remove(component.getSlot());
+        this.hidden.add(component);
+    }
+
+    /**
+     * Take the next component that left a viewport since it was laid out, its cached images are not needed anymore
+     *
+     * @return the component or null if there is none
+     */
+    public Component pollHidden() {
+        return this.hidden.poll();
+    }
+
+    /**
+     * Forget the layout of a slot
+     *
+     * @param slot
+     *            the slot
+     */
+    public void remove(final int slot) {
+        if ((slot >= 0) && (slot < this.componentInfos.length)) {
+            this.present[slot] = false;
+            this.layoutVersions[slot] = 0;
+            this.componentInfos[slot] = null;
+            this.layoutDescriptors[slot] = null;
+            this.scrollLayouts[slot] = null;
+        }
+    }
+
+    /**
+     * Forget the layout of all slots, compiled styles are kept
+     */
+    public void clear() {
+        Arrays.fill(this.present, false);
+        Arrays.fill(this.layoutVersions, 0);
+        Arrays.fill(this.componentInfos, null);
+        Arrays.fill(this.scrollLayouts, null);
+        this.hidden.clear();
+    }
+
+    /**
+     * @param slot
+     *            the slot
+     * @return true if the slot has a layout, otherwise false
+     */
+    public boolean contains(final int slot) {
+        return (slot >= 0) && (slot < this.present.length) && this.present[slot];
+    }
+
+    private boolean isClaimedBy(final Component component) {
+        final int slot = component.getSlot();
+
+        return (slot >= 0) && (slot < this.generations.length) && (this.generations[slot] == component.getSlotGeneration());
+    }
+
+    public float getX(final int slot) {
+        return this.x[slot];
+    }
+
+    public float getY(final int slot) {
+        return this.y[slot];
+    }
+
+    public float getWidth(final int slot) {
+        return this.width[slot];
+    }
+
+    public float getHeight(final int slot) {
+        return this.height[slot];
+    }
+
+    public boolean isVisible(final int slot) {
+        return this.visible[slot];
+    }
+
+    /**
+     * Get the layout of a slot as a <code>ComponentInfo</code>. The same instance is returned until the layout of the slot changes.
+     *
+     * @param slot
+     *            the slot
+     * @return the component information or null if the slot has no layout
+     */
+    public ComponentInfo get(final int slot) {
+        if (!this.contains(slot)) {
+            return null;
+        }
+
+        ComponentInfo componentInfo = this.componentInfos[slot];
+
+        if (componentInfo == null) {
+            componentInfo = new ComponentInfo(this.x[slot], this.y[slot], this.width[slot], this.height[slot], this.visible[slot]);
+            this.componentInfos[slot] = componentInfo;
+        }
+
+        return componentInfo;
+    }
+
+    /**
+     * Get the layout of a component as a <code>ComponentInfo</code>
+     *
+     * @param component
+     *            the component
+     * @return the component information or null if the component has not been laid out, also when the slot was laid out for an earlier
+     *         component
+     */
+    public ComponentInfo get(final Component component) {
+        return this.isClaimedBy(component) ? this.get(component.getSlot()) : null;
+    }
+
+    /**
+     * @return the number of slots with a layout
+     */
+    public int size() {
+        int size = 0;
+
+        for (final boolean slotPresent : this.present) {
+            if (slotPresent) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Make room for slots below a capacity, growing the store is not safe while other threads are writing to it
+     *
+     * @param capacity
+     *            the number of slots, see <code>Screen.getSlotCount()</code>
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= this.x.length) {
+            return;
+        }
+
+        final int newCapacity = Math.max(capacity, this.x.length * 2);
+
+        this.x = Arrays.copyOf(this.x, newCapacity);
+        this.y = Arrays.copyOf(this.y, newCapacity);
+        this.width = Arrays.copyOf(this.width, newCapacity);
+        this.height = Arrays.copyOf(this.height, newCapacity);
+        this.visible = Arrays.copyOf(this.visible, newCapacity);
+        this.present = Arrays.copyOf(this.present, newCapacity);
+        this.generations = Arrays.copyOf(this.generations, newCapacity);
+        this.layoutVersions = Arrays.copyOf(this.layoutVersions, newCapacity);
+        this.componentInfos = Arrays.copyOf(this.componentInfos, newCapacity);
+        this.layoutDescriptors = Arrays.copyOf(this.layoutDescriptors, newCapacity);
+        this.scrollLayouts = Arrays.copyOf(this.scrollLayouts, newCapacity);
+    }
+}
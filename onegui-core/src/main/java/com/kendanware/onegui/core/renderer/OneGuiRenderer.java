@@ -28,12 +28,28 @@
  */
 package com.kendanware.onegui.core.renderer;
 
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import com.kendanware.onegui.core.Component;
+import com.kendanware.onegui.core.Container;
 import com.kendanware.onegui.core.GraphicsSettings;
 import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.renderer.component.ContainerRenderer;
+import com.kendanware.onegui.core.style.StyleSnapshot;
 
 /**
  * Holder class connected to screen. Used for storing global rendering information.
@@ -51,7 +67,9 @@ public class OneGuiRenderer {
 
     private final float height;
 
-    private final Map<String, ComponentInfo> componentInfos = new ConcurrentHashMap<>();
+    private final LayoutStore layoutStore = new LayoutStore();
+
+    private final Map<String, ComponentInfo> componentInfos = new ComponentInfoView();
 
     private final Map<String, BufferedImage> renderedImages = new ConcurrentHashMap<>();
 
@@ -59,6 +77,29 @@ public class OneGuiRenderer {
 
     private final GraphicsSettings graphicsSettings;
 
+    private final SurfacePool surfacePool = new SurfacePool();
+
+    private final DamageTracker damageTracker = new DamageTracker();
+
+    private volatile boolean damageTracking;
+
+    private BufferedImage screenImage;
+
+    private volatile List<Rectangle> dirtyRegions = Collections.emptyList();
+
+    private volatile int layoutPasses;
+
+    private volatile long styleGeneration = -1;
+
+    // Snapshot pinned by the last update, the screen reports the components changed since
+    private StyleSnapshot styleSnapshot;
+
+    private volatile ForkJoinPool layoutPool;
+
+    private volatile int layoutThreshold;
+
+    private volatile Executor renderExecutor;
+
     public OneGuiRenderer(final Screen screen, final float width, final float height) {
         super();
         this.screen = screen;
@@ -81,20 +122,206 @@ public class OneGuiRenderer {
 
     public void update(final float tpf) {
 
+        // Layout and rendering of this frame use one generation of styles
+        final StyleSnapshot styleSnapshot = this.screen.getOneGui().getStyleSnapshot();
+
+        for (final Component component : this.screen.pinStyleSnapshot(this.styleSnapshot, styleSnapshot)) {
+            this.renderedImages.remove(component.getId());
+            this.lastState.remove(component.getId());
+        }
+
+        this.styleSnapshot = styleSnapshot;
+
+        this.styleGeneration = styleSnapshot.getGeneration();
+
         final float screenWidth = this.width;
         final float screenHeight = this.height;
 
-        final ComponentInfo componentInfo = new ComponentInfo(0.0f, 0.0f, screenWidth, screenHeight, true);
+        final boolean changed = this.layoutStore.set(this.layoutStore.claim(this.screen), 0.0f, 0.0f, screenWidth, screenHeight, true);
+        final ForkJoinPool forkJoinPool = this.layoutPool;
+
+        if (forkJoinPool == null) {
+            this.layoutPasses = RendererMath.calculateChildren(this.layoutStore, this.screen, changed);
+        } else {
+            // The store must not grow while subtrees are laid out in parallel
+            this.layoutStore.ensureCapacity(this.screen.getSlotCount());
+            this.layoutPasses = RendererMath.calculateChildren(this.layoutStore, this.screen, changed, forkJoinPool, this.layoutThreshold);
+        }
 
-        this.componentInfos.put(this.screen.getId(), componentInfo);
-        RendererMath.calculateChildren(this.componentInfos, this.screen);
+        // Surfaces of children scrolled out of view are recycled for the children scrolled into view
+        for (Component hidden = this.layoutStore.pollHidden(); hidden != null; hidden = this.layoutStore.pollHidden()) {
+            this.releaseAll(hidden);
+        }
     }
 
+    /**
+     * @return the generation of the styles used by the last call to {@link #update(float)}
+     */
+    public long getStyleGeneration() {
+        return this.styleGeneration;
+    }
+
+    /**
+     * @return the number of containers that had their children calculated by the last call to {@link #update(float)}, zero when nothing
+     *         changed
+     */
+    public int getLayoutPasses() {
+        return this.layoutPasses;
+    }
+
+    /**
+     * Lay out independent container subtrees in parallel. Worth it for large screens only, the layout of a small container costs less than
+     * handing it to another thread.
+     *
+     * @param forkJoinPool
+     *            the pool to run the layout in, null to lay out on the calling thread
+     * @param threshold
+     *            the number of children a container must have for its layout to be forked
+     */
+    public void setParallelLayout(final ForkJoinPool forkJoinPool, final int threshold) {
+        if ((forkJoinPool != null) && (threshold < 1)) {
+            throw new IllegalArgumentException("Invalid threshold: " + threshold);
+        }
+
+        this.layoutThreshold = threshold;
+        this.layoutPool = forkJoinPool;
+    }
+
+    /**
+     * @return true if the layout is calculated in parallel, otherwise false
+     */
+    public boolean isParallelLayout() {
+        return this.layoutPool != null;
+    }
+
+    /**
+     * Render the dirty children of a container concurrently. Every child is rendered into a surface of its own by the executor, the
+     * children are then drawn in order on the thread generating the image. The executor must not run on the thread generating the image,
+     * for example <code>screen.getOneGui()::execute</code> or a dedicated pool.
+     *
+     * @param renderExecutor
+     *            the executor rendering children, null to render on the calling thread
+     */
+    public void setRenderExecutor(final Executor renderExecutor) {
+        this.renderExecutor = renderExecutor;
+    }
+
+    /**
+     * @return the executor rendering children or null if children are rendered on the calling thread
+     */
+    public Executor getRenderExecutor() {
+        return this.renderExecutor;
+    }
+
+    /**
+     * Render the screen. With damage tracking enabled only the changed regions are composited into a persistent screen image, see
+     * {@link #getDirtyRegions()}. Without damage tracking the screen is drawn into its pooled surface.
+     * <p>
+     * In both modes the returned image is owned by the renderer and drawn in place by the next call, copy it to keep a frame or hand it to
+     * another thread.
+     *
+     * @return the screen image
+     */
     public BufferedImage generateImage() {
-        return ComponentRendererFactory.getRenderHandler(this.screen.getClass()).render(this, this.screen,
-                this.componentInfos.get(this.screen.getId()));
+        final ComponentInfo screenInfo = this.getComponentInfo(this.screen);
+        final ComponentRenderer screenRenderer = ComponentRendererFactory.getRenderHandler(this.screen.getClass());
+
+        if (!this.damageTracking || !(screenRenderer instanceof ContainerRenderer)) {
+            final BufferedImage bufferedImage = screenRenderer.render(this, this.screen, screenInfo);
+            this.dirtyRegions = Collections.singletonList(new Rectangle(0, 0, bufferedImage.getWidth(), bufferedImage.getHeight()));
+            return bufferedImage;
+        }
+
+        final int width = Math.round(screenInfo.getWidth());
+        final int height = Math.round(screenInfo.getHeight());
+
+        if ((this.screenImage == null) || (this.screenImage.getWidth() != width) || (this.screenImage.getHeight() != height)) {
+            this.screenImage = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+            this.damageTracker.reset();
+        }
+
+        final List<Rectangle> regions = this.damageTracker.collect(this, this.screen, new Rectangle(0, 0, width, height));
+
+        if (!regions.isEmpty()) {
+            final Graphics2D graphics = this.screenImage.createGraphics();
+            try {
+                this.graphicsSettings.apply(graphics);
+
+                for (final Rectangle region : regions) {
+                    final Graphics2D regionGraphics = (Graphics2D) graphics.create();
+                    try {
+                        regionGraphics.setClip(region);
+                        regionGraphics.setComposite(AlphaComposite.Clear);
+                        regionGraphics.fillRect(region.x, region.y, region.width, region.height);
+                        regionGraphics.setComposite(AlphaComposite.SrcOver);
+
+                        ((ContainerRenderer) screenRenderer).composite(this, this.screen, screenInfo, regionGraphics);
+                    } finally {
+                        regionGraphics.dispose();
+                    }
+                }
+            } finally {
+                graphics.dispose();
+            }
+        }
+
+        this.dirtyRegions = Collections.unmodifiableList(regions);
+
+        return this.screenImage;
     }
 
+    /**
+     * @return the regions of the screen image changed by the last call to {@link #generateImage()}, in screen coordinates
+     */
+    public List<Rectangle> getDirtyRegions() {
+        return this.dirtyRegions;
+    }
+
+    /**
+     * @return true if damage tracking is enabled, otherwise false
+     */
+    public boolean isDamageTracking() {
+        return this.damageTracking;
+    }
+
+    /**
+     * Enable or disable damage tracking. When enabled the screen image is kept between frames and only the regions covered by changed
+     * components are composited again.
+     *
+     * @param damageTracking
+     *            true to enable damage tracking
+     */
+    public void setDamageTracking(final boolean damageTracking) {
+        this.damageTracking = damageTracking;
+        this.damageTracker.reset();
+        this.screenImage = null;
+    }
+
+    /**
+     * Get the layout of a component
+     *
+     * @param component
+     *            the component
+     * @return the component information or null if the component has not been laid out
+     */
+    public ComponentInfo getComponentInfo(final Component component) {
+        return this.layoutStore.get(component);
+    }
+
+    /**
+     * @return the layout of all components by slot
+     */
+    public LayoutStore getLayoutStore() {
+        return layoutStore;
+    }
+
+    /**
+     * Get a read only view of the layout by component id. The view is not a copy: <code>get</code> looks up the id on the screen, while
+     * iterating and <code>size()</code> are O(n) and walk every slot of the screen, taking the lock of the screen slots once per slot.
+     * Prefer {@link #getComponentInfo(Component)} which does not look up the id.
+     *
+     * @return read only view of the layout by component id
+     */
     public Map<String, ComponentInfo> getComponentInfos() {
         return componentInfos;
     }
@@ -119,4 +346,112 @@ public class OneGuiRenderer {
         return lastState;
     }
 
+    /**
+     * @return the pool of backing images used when rendering components
+     */
+    public SurfacePool getSurfacePool() {
+        return surfacePool;
+    }
+
+    /**
+     * Drop everything cached for a component, for example when it has been removed from the screen
+     *
+     * @param id
+     *            the component id
+     */
+    public void release(final String id) {
+        this.renderedImages.remove(id);
+        this.lastState.remove(id);
+        this.surfacePool.release(id);
+    }
+
+    private void releaseAll(final Component component) {
+        this.release(component.getId());
+
+        if (component instanceof Container) {
+            for (final Component child : ((Container) component).getChildren()) {
+                this.releaseAll(child);
+            }
+        }
+    }
+
+    /**
+     * Read only view of the layout store keyed by component id
+     */
+    private class ComponentInfoView extends AbstractMap<String, ComponentInfo> {
+
+        @Override
+        public ComponentInfo get(final Object key) {
+            final Component component = key instanceof String ? OneGuiRenderer.this.screen.findById((String) key) : null;
+
+            return component == null ? null : OneGuiRenderer.this.getComponentInfo(component);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, ComponentInfo>> entrySet() {
+            return new AbstractSet<Map.Entry<String, ComponentInfo>>() {
+
+                @Override
+                public Iterator<Map.Entry<String, ComponentInfo>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+
+                    for (final Iterator<Map.Entry<String, ComponentInfo>> iterator = this.iterator(); iterator.hasNext(); iterator.next()) {
+                        size++;
+                    }
+
+                    return size;
+                }
+            };
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, ComponentInfo>> {
+
+        private final int slotCount = OneGuiRenderer.this.screen.getSlotCount();
+
+        private int slot = -1;
+
+        private Map.Entry<String, ComponentInfo> next = this.advance();
+
+        private Map.Entry<String, ComponentInfo> advance() {
+            while (++this.slot < this.slotCount) {
+                final Component component = OneGuiRenderer.this.screen.getComponent(this.slot);
+                final ComponentInfo componentInfo = component == null ? null : OneGuiRenderer.this.layoutStore.get(component);
+
+                if (componentInfo != null) {
+                    return new AbstractMap.SimpleImmutableEntry<>(component.getId(), componentInfo);
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<String, ComponentInfo> next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+
+            final Map.Entry<String, ComponentInfo> current = this.next;
+            this.next = this.advance();
+
+            return current;
+        }
+    }
+
 }
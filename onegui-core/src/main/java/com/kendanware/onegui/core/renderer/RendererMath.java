@@ -28,7 +28,12 @@
  */
 package com.kendanware.onegui.core.renderer;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +48,7 @@ import com.kendanware.onegui.core.DimensionType;
 import com.kendanware.onegui.core.FontSize;
 import com.kendanware.onegui.core.FontSizeType;
 import com.kendanware.onegui.core.VerticalAlign;
+import com.kendanware.onegui.core.container.ScrollPanel;
 import com.kendanware.onegui.core.style.Style;
 
 /**
@@ -198,62 +204,179 @@ public class RendererMath {
     }
 
     public static void calculateChildren(final Map<String, ComponentInfo> componentInfos, Container container) {
+        calculateChildren(componentInfos, container, true);
+    }
+
+    /**
+     * Calculate the layout of the children of a container into a map keyed by component id. The map is copied into a
+     * <code>LayoutStore</code> and back, use {@link #calculateChildren(LayoutStore, Container, boolean)} to avoid the copies.
+     *
+     * @param componentInfos
+     *            the layout, the <code>ComponentInfo</code> of the container must be present
+     * @param container
+     *            the container
+     * @param force
+     *            true if the children must be calculated even if the layout is valid
+     * @return the number of containers that had their children calculated
+     */
+    public static int calculateChildren(final Map<String, ComponentInfo> componentInfos, final Container container, final boolean force) {
+
+        final LayoutStore layoutStore = new LayoutStore();
+        load(componentInfos, layoutStore, container);
+
+        final int passes = calculateChildren(layoutStore, container, force);
+
+        store(layoutStore, componentInfos, container);
+
+        return passes;
+    }
+
+    private static void load(final Map<String, ComponentInfo> componentInfos, final LayoutStore layoutStore, final Component component) {
+        final ComponentInfo componentInfo = componentInfos.get(component.getId());
+
+        if (componentInfo != null) {
+            layoutStore.set(layoutStore.claim(component), componentInfo.getX(), componentInfo.getY(), componentInfo.getWidth(), componentInfo.getHeight(),
+                    componentInfo.isVisible());
+        }
+
+        if (component instanceof Container) {
+            for (final Component child : ((Container) component).getChildren()) {
+                load(componentInfos, layoutStore, child);
+            }
+        }
+    }
+
+    private static void store(final LayoutStore layoutStore, final Map<String, ComponentInfo> componentInfos, final Component component) {
+        final ComponentInfo componentInfo = layoutStore.get(component);
+
+        if ((componentInfo != null) && !componentInfo.equals(componentInfos.get(component.getId()))) {
+            componentInfos.put(component.getId(), componentInfo);
+        }
+
+        if (component instanceof Container) {
+            for (final Component child : ((Container) component).getChildren()) {
+                store(layoutStore, componentInfos, child);
+            }
+        }
+    }
+
+    /**
+     * Calculate the layout of the children of a container. Containers whose layout is still valid and whose own layout did not change are
+     * skipped together with their subtree.
+     *
+     * @param layoutStore
+     *            the layout, the layout of the container must be present
+     * @param container
+     *            the container
+     * @param force
+     *            true if the children must be calculated even if the layout is valid
+     * @return the number of containers that had their children calculated
+     */
+    public static int calculateChildren(final LayoutStore layoutStore, final Container container, final boolean force) {
+        return calculateChildren(layoutStore, container, force, 0);
+    }
+
+    /**
+     * Calculate the layout of the children of a container, forking the layout of child containers onto a fork join pool. Sibling subtrees
+     * only depend on the layout of their parent, the result is the same as {@link #calculateChildren(LayoutStore, Container, boolean)}.
+     *
+     * @param layoutStore
+     *            the layout, the layout of the container must be present and the capacity must cover all slots below the container
+     * @param container
+     *            the container
+     * @param force
+     *            true if the children must be calculated even if the layout is valid
+     * @param forkJoinPool
+     *            the pool running the layout
+     * @param threshold
+     *            the number of children a container must have for its layout to be forked, smaller subtrees are calculated by the thread
+     *            laying out the parent
+     * @return the number of containers that had their children calculated
+     */
+    public static int calculateChildren(final LayoutStore layoutStore, final Container container, final boolean force,
+            final ForkJoinPool forkJoinPool, final int threshold) {
 
-        if (container.getStyle() == null) {
-            final Style style = container.getOneGui().getStyles().get(container.getId());
-            container.setStyle(style);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold: " + threshold);
         }
 
-        if (container.getStyle().getChildLayout() == ChildLayout.LEFT || container.getStyle().getChildLayout() == ChildLayout.RIGHT) {
-            calculateChildrenHorizontal(componentInfos, container);
-        } else if (container.getStyle().getChildLayout() == ChildLayout.UP || container.getStyle().getChildLayout() == ChildLayout.DOWN) {
-            calculateChildrenVertical(componentInfos, container);
+        return forkJoinPool.invoke(new LayoutTask(layoutStore, container, force, threshold));
+    }
+
+    /**
+     * @param threshold
+     *            the fork threshold, zero when the layout is not forked
+     */
+    private static int calculateChildren(final LayoutStore layoutStore, final Container container, final boolean force, final int threshold) {
+
+        // Read before the layout, an invalidation while laying out is seen by the next layout
+        final long layoutVersion = container.getLayoutVersion();
+
+        if (layoutStore.isValid(container) && !force && !isScrolled(layoutStore, container)) {
+            return 0;
+        }
+
+        final LayoutDescriptor layoutDescriptor = layoutStore.getLayoutDescriptor(container);
+        final int passes;
+
+        if (container instanceof ScrollPanel) {
+            passes = 1 + calculateChildrenScrolled(layoutStore, (ScrollPanel) container, layoutDescriptor, threshold);
+        } else if (layoutDescriptor.childLayout == ChildLayout.LEFT || layoutDescriptor.childLayout == ChildLayout.RIGHT) {
+            passes = 1 + calculateChildrenHorizontal(layoutStore, container, layoutDescriptor, threshold);
+        } else if (layoutDescriptor.childLayout == ChildLayout.UP || layoutDescriptor.childLayout == ChildLayout.DOWN) {
+            passes = 1 + calculateChildrenVertical(layoutStore, container, layoutDescriptor, threshold);
         } else {
             // TODO: fix center
+            passes = 0;
         }
 
+        // Only valid once the whole subtree succeeded, a failure is tried again by the next layout
+        layoutStore.validate(container.getSlot(), layoutVersion);
+
+        return passes;
     }
 
-    static void calculateChildrenHorizontal(final Map<String, ComponentInfo> componentInfos, final Container container) {
+    static int calculateChildrenHorizontal(final LayoutStore layoutStore, final Container container, final LayoutDescriptor parentDescriptor,
+            final int threshold) {
 
         try {
-            final ComponentInfo parentRendererInfo = componentInfos.get(container.getId());
-
-            final ChildLayout childLayout = container.getStyle().getChildLayout();
-            final VerticalAlign verticalAlign = container.getStyle().getVerticalAlign();
-
-            final float parentWidth = getParentWidth(parentRendererInfo.getWidth(), parentRendererInfo.getHeight(), container.getStyle());
-            final float parentHeight = getParentHeight(parentRendererInfo.getWidth(), parentRendererInfo.getHeight(), container.getStyle());
-            final float paddingLeft = getMarginPaddingWidth(container.getStyle(), container.getStyle().getPaddingLeft(), parentWidth, parentHeight);
-            final float paddingRight = getMarginPaddingWidth(container.getStyle(), container.getStyle().getPaddingRight(), parentWidth, parentHeight);
-            final float paddingTop = getMarginPaddingHeight(container.getStyle(), container.getStyle().getPaddingTop(), parentWidth, parentHeight);
-            final float paddingBottom = getMarginPaddingHeight(container.getStyle(), container.getStyle().getPaddingBottom(), parentWidth,
-                    parentHeight);
-            float position = childLayout == ChildLayout.RIGHT ? paddingLeft : parentRendererInfo.getWidth() - paddingRight;
+            int passes = 0;
+            List<LayoutTask> forks = null;
+            final int parentSlot = container.getSlot();
+            final float parentRendererWidth = layoutStore.getWidth(parentSlot);
+            final float parentRendererHeight = layoutStore.getHeight(parentSlot);
+
+            final ChildLayout childLayout = parentDescriptor.childLayout;
+            final VerticalAlign verticalAlign = parentDescriptor.verticalAlign;
+
+            final float parentWidth = parentDescriptor.getInnerWidth(parentRendererWidth, parentRendererHeight);
+            final float parentHeight = parentDescriptor.getInnerHeight(parentRendererWidth, parentRendererHeight);
+            final float paddingLeft = parentDescriptor.paddingLeft.evaluate(parentWidth, parentHeight);
+            final float paddingRight = parentDescriptor.paddingRight.evaluate(parentWidth, parentHeight);
+            final float paddingTop = parentDescriptor.paddingTop.evaluate(parentWidth, parentHeight);
+            final float paddingBottom = parentDescriptor.paddingBottom.evaluate(parentWidth, parentHeight);
+            float position = childLayout == ChildLayout.RIGHT ? paddingLeft : parentRendererWidth - paddingRight;
 
             for (Component component : container.getChildren()) {
                 try {
-                    if (component.getStyle() == null) {
-                        final Style style = container.getOneGui().getStyles().get(component.getId());
-                        component.setStyle(style);
-                    }
+                    final int slot = component.getSlot();
+                    final LayoutDescriptor layoutDescriptor = layoutStore.getLayoutDescriptor(component);
 
-                    float width = RendererMath.getWidth(component.getStyle(), parentWidth, parentHeight);
-                    float height = RendererMath.getHeight(component.getStyle(), parentWidth, parentHeight);
+                    float width = layoutDescriptor.width.evaluate(parentWidth, parentHeight);
+                    float height = layoutDescriptor.height.evaluate(parentWidth, parentHeight);
 
-                    final float marginLeft = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginLeft(), width, height);
-                    final float marginRight = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginRight(), width, height);
+                    final float marginLeft = layoutDescriptor.marginLeft.evaluate(width, height);
+                    final float marginRight = layoutDescriptor.marginRight.evaluate(width, height);
 
                     float y;
                     if (verticalAlign == VerticalAlign.TOP) {
-                        final float marginTop = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginTop(), width, height);
+                        final float marginTop = layoutDescriptor.marginTop.evaluate(width, height);
                         y = paddingTop + marginTop;
                     } else if (verticalAlign == VerticalAlign.BOTTOM) {
-                        final float marginBottom = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginBottom(), width,
-                                parentHeight);
-                        y = parentRendererInfo.getHeight() - height - paddingBottom - marginBottom;
+                        final float marginBottom = layoutDescriptor.marginBottom.evaluate(width, parentHeight);
+                        y = parentRendererHeight - height - paddingBottom - marginBottom;
                     } else {
-                        y = parentRendererInfo.getHeight() / 2 - height / 2f;
+                        y = parentRendererHeight / 2 - height / 2f;
                     }
 
                     if (childLayout == ChildLayout.LEFT) {
@@ -264,11 +387,21 @@ public class RendererMath {
                         position += marginLeft;
                     }
 
-                    ComponentInfo componentInfo = new ComponentInfo(position, y, width, height, true); // TODO: fix visible
-                    componentInfos.put(component.getId(), componentInfo);
+                    final boolean changed = layoutStore.set(slot, position, y, width, height, true); // TODO: fix visible
 
-                    if (component instanceof Container) {
-                        calculateChildren(componentInfos, (Container) component);
+                    if ((component instanceof Container) && (threshold > 0)
+                            && (((Container) component).getChildren().size() >= threshold)) {
+                        if (forks == null) {
+                            forks = new ArrayList<>();
+                        }
+
+                        final LayoutTask layoutTask = new LayoutTask(layoutStore, (Container) component, changed, threshold);
+                        layoutTask.fork();
+                        forks.add(layoutTask);
+                    } else if (component instanceof Container) {
+                        passes += calculateChildren(layoutStore, (Container) component, changed, threshold);
+                    } else {
+                        layoutStore.validate(slot, component.getLayoutVersion());
                     }
 
                     if (childLayout == ChildLayout.RIGHT) {
@@ -285,52 +418,61 @@ public class RendererMath {
                 }
             }
 
+            if (forks != null) {
+                for (final LayoutTask layoutTask : forks) {
+                    passes += layoutTask.join();
+                }
+            }
+
+            return passes;
         } catch (RuntimeException e) {
             LOG.error("Unknown error occurred for {}", container, e);
             throw e;
         }
     }
 
-    static void calculateChildrenVertical(final Map<String, ComponentInfo> componentInfos, Container container) {
+    static int calculateChildrenVertical(final LayoutStore layoutStore, Container container, final LayoutDescriptor parentDescriptor,
+            final int threshold) {
 
         try {
-            final ComponentInfo parentRendererInfo = componentInfos.get(container.getId());
+            int passes = 0;
+            List<LayoutTask> forks = null;
+            final int parentSlot = container.getSlot();
+            final float parentRendererWidth = layoutStore.getWidth(parentSlot);
+            final float parentRendererHeight = layoutStore.getHeight(parentSlot);
 
-            final float parentWidth = getParentWidth(parentRendererInfo.getWidth(), parentRendererInfo.getHeight(), container.getStyle());
-            final float parentHeight = getParentHeight(parentRendererInfo.getWidth(), parentRendererInfo.getHeight(), container.getStyle());
-            final float paddingLeft = getMarginPaddingWidth(container.getStyle(), container.getStyle().getPaddingLeft(), parentWidth, parentHeight);
-            final float paddingRight = getMarginPaddingWidth(container.getStyle(), container.getStyle().getPaddingRight(), parentWidth, parentHeight);
-            final float paddingTop = getMarginPaddingHeight(container.getStyle(), container.getStyle().getPaddingTop(), parentWidth, parentHeight);
-            final float paddingBottom = getMarginPaddingHeight(container.getStyle(), container.getStyle().getPaddingBottom(), parentWidth,
-                    parentHeight);
+            final float parentWidth = parentDescriptor.getInnerWidth(parentRendererWidth, parentRendererHeight);
+            final float parentHeight = parentDescriptor.getInnerHeight(parentRendererWidth, parentRendererHeight);
+            final float paddingLeft = parentDescriptor.paddingLeft.evaluate(parentWidth, parentHeight);
+            final float paddingRight = parentDescriptor.paddingRight.evaluate(parentWidth, parentHeight);
+            final float paddingTop = parentDescriptor.paddingTop.evaluate(parentWidth, parentHeight);
+            final float paddingBottom = parentDescriptor.paddingBottom.evaluate(parentWidth, parentHeight);
 
-            final ChildLayout childLayout = container.getStyle().getChildLayout();
-            final Align align = container.getStyle().getAlign();
+            final ChildLayout childLayout = parentDescriptor.childLayout;
+            final Align align = parentDescriptor.align;
 
-            float position = childLayout == ChildLayout.DOWN ? paddingTop : parentRendererInfo.getHeight() - paddingBottom;
+            float position = childLayout == ChildLayout.DOWN ? paddingTop : parentRendererHeight - paddingBottom;
 
             for (final Component component : container.getChildren()) {
                 try {
-                    if (component.getStyle() == null) {
-                        final Style style = container.getOneGui().getStyles().get(component.getId());
-                        component.setStyle(style);
-                    }
+                    final int slot = component.getSlot();
+                    final LayoutDescriptor layoutDescriptor = layoutStore.getLayoutDescriptor(component);
 
-                    float width = RendererMath.getWidth(component.getStyle(), parentWidth, parentHeight);
-                    float height = RendererMath.getHeight(component.getStyle(), parentWidth, parentHeight);
+                    float width = layoutDescriptor.width.evaluate(parentWidth, parentHeight);
+                    float height = layoutDescriptor.height.evaluate(parentWidth, parentHeight);
 
-                    final float marginTop = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginTop(), width, height);
-                    final float marginBottom = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginBottom(), width, height);
+                    final float marginTop = layoutDescriptor.marginTop.evaluate(width, height);
+                    final float marginBottom = layoutDescriptor.marginBottom.evaluate(width, height);
 
                     float x;
                     if (align == Align.LEFT) {
-                        final float marginLeft = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginLeft(), width, height);
+                        final float marginLeft = layoutDescriptor.marginLeft.evaluate(width, height);
                         x = paddingLeft + marginLeft;
                     } else if (align == Align.RIGHT) {
-                        final float marginRight = getMarginPaddingWidth(component.getStyle(), component.getStyle().getMarginRight(), width, height);
-                        x = parentRendererInfo.getWidth() - width - paddingRight - marginRight;
+                        final float marginRight = layoutDescriptor.marginRight.evaluate(width, height);
+                        x = parentRendererWidth - width - paddingRight - marginRight;
                     } else {
-                        x = parentRendererInfo.getWidth() / 2 - width / 2f;
+                        x = parentRendererWidth / 2 - width / 2f;
                     }
 
                     if (childLayout == ChildLayout.UP) {
@@ -339,11 +481,21 @@ public class RendererMath {
                         position += marginTop;
                     }
 
-                    ComponentInfo componentInfo = new ComponentInfo(x, position, width, height, true); // TODO: fix visible
-                    componentInfos.put(component.getId(), componentInfo);
+                    final boolean changed = layoutStore.set(slot, x, position, width, height, true); // TODO: fix visible
 
-                    if (component instanceof Container) {
-                        calculateChildren(componentInfos, (Container) component);
+                    if ((component instanceof Container) && (threshold > 0)
+                            && (((Container) component).getChildren().size() >= threshold)) {
+                        if (forks == null) {
+                            forks = new ArrayList<>();
+                        }
+
+                        final LayoutTask layoutTask = new LayoutTask(layoutStore, (Container) component, changed, threshold);
+                        layoutTask.fork();
+                        forks.add(layoutTask);
+                    } else if (component instanceof Container) {
+                        passes += calculateChildren(layoutStore, (Container) component, changed, threshold);
+                    } else {
+                        layoutStore.validate(slot, component.getLayoutVersion());
                     }
 
                     if (childLayout == ChildLayout.DOWN) {
@@ -358,24 +510,159 @@ public class RendererMath {
                 }
             }
 
+            if (forks != null) {
+                for (final LayoutTask layoutTask : forks) {
+                    passes += layoutTask.join();
+                }
+            }
+
+            return passes;
         } catch (RuntimeException e) {
             LOG.error("Unknown error occurred for {}", container, e);
             throw e;
         }
     }
 
-    static float getParentWidth(final float parentWidth, final float parentHeight, Style parentStyle) {
-        final float paddingLeft = getMarginPaddingWidth(parentStyle, parentStyle.getPaddingLeft(), parentWidth, parentHeight);
-        final float paddingRight = getMarginPaddingWidth(parentStyle, parentStyle.getPaddingRight(), parentWidth, parentHeight);
+    private static boolean isScrolled(final LayoutStore layoutStore, final Container container) {
+        if (!(container instanceof ScrollPanel)) {
+            return false;
+        }
+
+        final ScrollLayout scrollLayout = layoutStore.getScrollLayout(container);
+
+        return (scrollLayout == null) || (scrollLayout.getRequestedOffset() != ((ScrollPanel) container).getScrollOffset());
+    }
+
+    /**
+     * Layout of the children of a scroll panel in the viewport. The extents of all children are only measured when the children or the
+     * inner size of the panel changed, otherwise only the children reporting an invalid layout are measured again. Scrolling lays out the
+     * children in the viewport and hides the children that left it.
+     */
+    static int calculateChildrenScrolled(final LayoutStore layoutStore, final ScrollPanel container, final LayoutDescriptor parentDescriptor,
+            final int threshold) {
+
+        try {
+            int passes = 0;
+            final int parentSlot = container.getSlot();
+            final float parentRendererWidth = layoutStore.getWidth(parentSlot);
+            final float parentRendererHeight = layoutStore.getHeight(parentSlot);
+
+            final float parentWidth = parentDescriptor.getInnerWidth(parentRendererWidth, parentRendererHeight);
+            final float parentHeight = parentDescriptor.getInnerHeight(parentRendererWidth, parentRendererHeight);
+            final float paddingLeft = parentDescriptor.paddingLeft.evaluate(parentWidth, parentHeight);
+            final float paddingRight = parentDescriptor.paddingRight.evaluate(parentWidth, parentHeight);
+            final float paddingTop = parentDescriptor.paddingTop.evaluate(parentWidth, parentHeight);
+
+            final Align align = parentDescriptor.align;
+
+            final ScrollLayout scrollLayout = layoutStore.getOrCreateScrollLayout(parentSlot);
+            final List<Component> previous = scrollLayout.getVisibleChildren();
+            final int previousFirst = scrollLayout.getFirst();
+            final List<Component> children = container.getChildren();
+            final boolean sameChildren = scrollLayout.getChildren() == children;
+
+            // Read before measuring, children invalidated while measuring are measured again by the next layout
+            final long changeCount = container.getChangeCount();
+
+            if (!scrollLayout.isMeasured(children, parentWidth, parentHeight)) {
+                final float[] extents = new float[children.size()];
+
+                for (int i = 0; i < extents.length; i++) {
+                    extents[i] = measure(layoutStore, children.get(i), parentWidth, parentHeight);
+                }
+
+                scrollLayout.setExtents(children, extents, parentWidth, parentHeight);
+            } else {
+                for (final Component component : container.getChangedChildren(scrollLayout.getChangeCount())) {
+                    final int index = scrollLayout.indexOf(component);
+
+                    if (index >= 0) {
+                        scrollLayout.setExtent(index, measure(layoutStore, component, parentWidth, parentHeight));
+                    }
+                }
+            }
+
+            scrollLayout.setChangeCount(changeCount);
+            scrollLayout.scroll(container.getScrollOffset(), parentHeight);
+
+            final int first = scrollLayout.getFirst();
+            final int last = scrollLayout.getLast();
 
-        return parentWidth - (paddingLeft + paddingRight);
+            // Children that left the viewport
+            final Map<Component, Boolean> visible = sameChildren ? null : new IdentityHashMap<>();
+            if (visible != null) {
+                for (final Component component : scrollLayout.getVisibleChildren()) {
+                    visible.put(component, Boolean.TRUE);
+                }
+            }
+
+            for (int i = 0; i < previous.size(); i++) {
+                final Component component = previous.get(i);
+                final boolean stillVisible = visible == null ? (previousFirst + i >= first) && (previousFirst + i < last) : visible
+                        .containsKey(component);
+
+                if (!stillVisible && (component.getSlot() >= 0)) {
+                    layoutStore.hide(component);
+                }
+            }
+
+            final float scrollOffset = scrollLayout.getScrollOffset();
+            float offset = scrollLayout.getOffset(first);
+
+            for (int i = first; i < last; i++) {
+                final Component component = children.get(i);
+
+                try {
+                    final int slot = component.getSlot();
+                    final LayoutDescriptor layoutDescriptor = layoutStore.getLayoutDescriptor(component);
+
+                    final float width = layoutDescriptor.width.evaluate(parentWidth, parentHeight);
+                    final float height = layoutDescriptor.height.evaluate(parentWidth, parentHeight);
+                    final float marginTop = layoutDescriptor.marginTop.evaluate(width, height);
+
+                    final float x;
+                    if (align == Align.LEFT) {
+                        x = paddingLeft + layoutDescriptor.marginLeft.evaluate(width, height);
+                    } else if (align == Align.RIGHT) {
+                        x = parentRendererWidth - width - paddingRight - layoutDescriptor.marginRight.evaluate(width, height);
+                    } else {
+                        x = parentRendererWidth / 2 - width / 2f;
+                    }
+
+                    final float y = paddingTop + offset + marginTop - scrollOffset;
+                    offset += scrollLayout.getExtent(i);
+
+                    final boolean changed = layoutStore.set(slot, x, y, width, height, true);
+
+                    if (component instanceof Container) {
+                        passes += calculateChildren(layoutStore, (Container) component, changed, threshold);
+                    } else {
+                        layoutStore.validate(slot, component.getLayoutVersion());
+                    }
+
+                } catch (RuntimeException e) {
+                    LOG.error("Unknown error occurred for {}", component, e);
+                    throw e;
+                }
+            }
+
+            return passes;
+        } catch (RuntimeException e) {
+            LOG.error("Unknown error occurred for {}", container, e);
+            throw e;
+        }
     }
 
-    static float getParentHeight(final float parentWidth, final float parentHeight, Style parentStyle) {
-        final float paddingTop = getMarginPaddingHeight(parentStyle, parentStyle.getPaddingTop(), parentWidth, parentHeight);
-        final float paddingBottom = getMarginPaddingHeight(parentStyle, parentStyle.getPaddingBottom(), parentWidth, parentHeight);
+    /**
+     * @return the height of a child of a scroll panel including its margins
+     */
+    private static float measure(final LayoutStore layoutStore, final Component component, final float parentWidth, final float parentHeight) {
+        final LayoutDescriptor layoutDescriptor = layoutStore.getLayoutDescriptor(component);
+
+        final float width = layoutDescriptor.width.evaluate(parentWidth, parentHeight);
+        final float height = layoutDescriptor.height.evaluate(parentWidth, parentHeight);
 
-        return parentHeight - (paddingTop + paddingBottom);
+        return layoutDescriptor.marginTop.evaluate(width, height) + height + layoutDescriptor.marginBottom.evaluate(width, height);
     }
 
     public static float getMarginPaddingWidth(final Style style, final Dimension dimension, final float parentWidth, final float parentHeight) {
@@ -452,4 +739,31 @@ public class RendererMath {
         throw new IllegalArgumentException("Unknown dimension: " + style.getWidth());
     }
 
+    /**
+     * Layout of one container subtree, forked when the container has enough children
+     */
+    private static class LayoutTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LayoutStore layoutStore;
+
+        private final Container container;
+
+        private final boolean force;
+
+        private final int threshold;
+
+        LayoutTask(final LayoutStore layoutStore, final Container container, final boolean force, final int threshold) {
+            this.layoutStore = layoutStore;
+            this.container = container;
+            this.force = force;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            return RendererMath.calculateChildren(this.layoutStore, this.container, this.force, this.threshold);
+        }
+    }
 }
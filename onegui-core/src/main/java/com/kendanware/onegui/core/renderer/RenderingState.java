@@ -28,6 +28,15 @@
  */
 package com.kendanware.onegui.core.renderer;
 
+/**
+ * The state a component was rendered from, the component is rendered again when the state is no longer equal. Styles are interned so
+ * implementations compare them by identity.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
 public interface RenderingState {
 
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kendanware.onegui.core.Component;
+
+/**
+ * Layout of a <code>ScrollPanel</code>. The extents of the children are summed up in a Fenwick tree, so the children in the viewport are
+ * found and the extent of one child is changed in logarithmic time. Neither scrolling nor a change to a single child visits the other
+ * children.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class ScrollLayout {
+
+    private List<Component> children = Collections.emptyList();
+
+    private Map<Component, Integer> indexes = Collections.emptyMap();
+
+    // Height of each child including its margins
+    private float[] extents = {};
+
+    // Fenwick tree over the extents, tree[i] is the sum of the extents from i - (i & -i) up to but not including i
+    private float[] tree = { 0.0f };
+
+    private float contentHeight;
+
+    // Inner size of the panel the extents were measured for
+    private float measuredWidth = Float.NaN;
+
+    private float measuredHeight = Float.NaN;
+
+    private long measureCount;
+
+    // Change count of the panel the extents are up to date with
+    private long changeCount;
+
+    private float requestedOffset = -1.0f;
+
+    private float scrollOffset;
+
+    private int first;
+
+    private int last;
+
+    /**
+     * @return the children in the viewport, in order
+     */
+    public List<Component> getVisibleChildren() {
+        return this.children.subList(this.first, this.last);
+    }
+
+    /**
+     * @return the index of the first child in the viewport
+     */
+    public int getFirst() {
+        return this.first;
+    }
+
+    /**
+     * @return the index after the last child in the viewport
+     */
+    public int getLast() {
+        return this.last;
+    }
+
+    /**
+     * @return the scroll offset used by the layout, limited to the height of the content
+     */
+    public float getScrollOffset() {
+        return this.scrollOffset;
+    }
+
+    /**
+     * @return the height of all children including their margins
+     */
+    public float getContentHeight() {
+        return this.contentHeight;
+    }
+
+    /**
+     * @return the number of times a child has been measured since the scroll layout was created
+     */
+    public long getMeasureCount() {
+        return this.measureCount;
+    }
+
+    List<Component> getChildren() {
+        return this.children;
+    }
+
+    long getChangeCount() {
+        return this.changeCount;
+    }
+
+    void setChangeCount(final long changeCount) {
+        this.changeCount = changeCount;
+    }
+
+    float getRequestedOffset() {
+        return this.requestedOffset;
+    }
+
+    /**
+     * @return true if the extents were measured for the children and the inner size of the panel
+     */
+    boolean isMeasured(final List<Component> children, final float width, final float height) {
+        return (this.children == children) && (Float.compare(this.measuredWidth, width) == 0)
+                && (Float.compare(this.measuredHeight, height) == 0);
+    }
+
+    /**
+     * @return the index of a child or -1 if it is not a child
+     */
+    int indexOf(final Component child) {
+        final Integer index = this.indexes.get(child);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the top of a child including its margins, relative to the top of the content
+     */
+    float getOffset(final int index) {
+        float offset = 0.0f;
+
+        for (int i = index; i > 0; i -= i & -i) {
+            offset += this.tree[i];
+        }
+
+        return offset;
+    }
+
+    float getExtent(final int index) {
+        return this.extents[index];
+    }
+
+    /**
+     * Replace all children and their extents
+     *
+     * @param children
+     *            the children
+     * @param extents
+     *            the height of each child including its margins
+     * @param width
+     *            the inner width of the panel the extents were measured for
+     * @param height
+     *            the inner height of the panel the extents were measured for
+     */
+    void setExtents(final List<Component> children, final float[] extents, final float width, final float height) {
+        final float[] tree = new float[extents.length + 1];
+        final Map<Component, Integer> indexes = new IdentityHashMap<>(children.size());
+        float contentHeight = 0.0f;
+
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += extents[i - 1];
+            contentHeight += extents[i - 1];
+
+            final int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+
+            indexes.put(children.get(i - 1), i - 1);
+        }
+
+        this.children = children;
+        this.indexes = indexes;
+        this.extents = extents;
+        this.tree = tree;
+        this.contentHeight = contentHeight;
+        this.measuredWidth = width;
+        this.measuredHeight = height;
+        this.measureCount += extents.length;
+    }
+
+    /**
+     * Change the extent of one child
+     *
+     * @param index
+     *            the index of the child
+     * @param extent
+     *            the height of the child including its margins
+     */
+    void setExtent(final int index, final float extent) {
+        final float delta = extent - this.extents[index];
+        this.measureCount++;
+
+        if (delta == 0.0f) {
+            return;
+        }
+
+        this.extents[index] = extent;
+        this.contentHeight += delta;
+
+        for (int i = index + 1; i < this.tree.length; i += i & -i) {
+            this.tree[i] += delta;
+        }
+    }
+
+    /**
+     * Move the viewport
+     *
+     * @param requestedOffset
+     *            the scroll offset of the panel
+     * @param viewportHeight
+     *            the height of the viewport
+     */
+    void scroll(final float requestedOffset, final float viewportHeight) {
+        this.requestedOffset = requestedOffset;
+        this.scrollOffset = Math.max(0.0f, Math.min(requestedOffset, this.contentHeight - viewportHeight));
+
+        // First child ending below the top of the viewport, first child starting at or below the bottom of the viewport
+        this.first = this.count(this.scrollOffset, false);
+        this.last = viewportHeight > 0.0f ? Math.max(this.first, Math.min(this.extents.length, this.count(this.scrollOffset
+                + viewportHeight, true) + 1)) : this.first;
+    }
+
+    /**
+     * @return the largest number of leading children with extents summing up to at most <code>value</code>, or below <code>value</code> if
+     *         <code>strict</code>
+     */
+    private int count(final float value, final boolean strict) {
+        int count = 0;
+        float remaining = value;
+
+        for (int step = Integer.highestOneBit(this.extents.length); step > 0; step >>= 1) {
+            final int next = count + step;
+
+            if ((next < this.tree.length) && (strict ? this.tree[next] < remaining : this.tree[next] <= remaining)) {
+                count = next;
+                remaining -= this.tree[next];
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one backing image per component so a component redraws into its existing raster. A new image is only allocated when the size of the
+ * component changes. Images of released components are kept as spares and handed to other components of the same size, for example rows
+ * scrolled into view taking over the images of rows scrolled out of view.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class SurfacePool {
+
+    /**
+     * The maximum number of spare images kept
+     */
+    public static final int MAXIMUM_SPARES = 64;
+
+    private final Map<String, BufferedImage> surfaces = new ConcurrentHashMap<>();
+
+    private final Deque<BufferedImage> spares = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger spareCount = new AtomicInteger();
+
+    private final AtomicLong recycles = new AtomicLong();
+
+    private final AtomicLong allocations = new AtomicLong();
+
+    private final AtomicLong reuses = new AtomicLong();
+
+    /**
+     * Get a cleared surface for a component
+     *
+     * @param id
+     *            the component id
+     * @param width
+     *            the width in pixels
+     * @param height
+     *            the height in pixels
+     * @return a transparent image of the requested size
+     */
+    public BufferedImage acquire(final String id, final int width, final int height) {
+
+        final BufferedImage existing = this.surfaces.get(id);
+
+        if ((existing != null) && (existing.getWidth() == width) && (existing.getHeight() == height)) {
+            SurfacePool.clear(existing);
+
+            this.reuses.incrementAndGet();
+            return existing;
+        }
+
+        final BufferedImage spare = this.takeSpare(width, height);
+
+        if (spare != null) {
+            SurfacePool.clear(spare);
+            this.surfaces.put(id, spare);
+
+            this.recycles.incrementAndGet();
+            return spare;
+        }
+
+        final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+        this.surfaces.put(id, bufferedImage);
+        this.allocations.incrementAndGet();
+
+        return bufferedImage;
+    }
+
+    /**
+     * Drop the surface of a component, for example when the component has been removed
+     *
+     * @param id
+     *            the component id
+     */
+    public void release(final String id) {
+        final BufferedImage bufferedImage = this.surfaces.remove(id);
+
+        if ((bufferedImage != null) && (this.spareCount.incrementAndGet() <= SurfacePool.MAXIMUM_SPARES)) {
+            this.spares.push(bufferedImage);
+        } else if (bufferedImage != null) {
+            this.spareCount.decrementAndGet();
+        }
+    }
+
+    private BufferedImage takeSpare(final int width, final int height) {
+        for (final Iterator<BufferedImage> iterator = this.spares.iterator(); iterator.hasNext();) {
+            final BufferedImage spare = iterator.next();
+
+            if ((spare.getWidth() == width) && (spare.getHeight() == height) && this.spares.removeFirstOccurrence(spare)) {
+                this.spareCount.decrementAndGet();
+                return spare;
+            }
+        }
+
+        return null;
+    }
+
+    private static void clear(final BufferedImage bufferedImage) {
+        final Graphics2D graphics = bufferedImage.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Clear);
+            graphics.fillRect(0, 0, bufferedImage.getWidth(), bufferedImage.getHeight());
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    /**
+     * @return the number of images allocated since the pool was created
+     */
+    public long getAllocationCount() {
+        return this.allocations.get();
+    }
+
+    /**
+     * @return the number of times an existing image was reused since the pool was created
+     */
+    public long getReuseCount() {
+        return this.reuses.get();
+    }
+
+    /**
+     * @return the number of times the image of a released component was handed to another component since the pool was created
+     */
+    public long getRecycleCount() {
+        return this.recycles.get();
+    }
+
+    /**
+     * @return the number of surfaces currently held
+     */
+    public int size() {
+        return this.surfaces.size();
+    }
+}
@@ -37,6 +37,7 @@ import com.kendanware.onegui.core.control.ButtonState;
 import com.kendanware.onegui.core.renderer.ComponentInfo;
 import com.kendanware.onegui.core.renderer.OneGuiRenderer;
 import com.kendanware.onegui.core.renderer.RenderingState;
+import com.kendanware.onegui.core.style.Style;
 
 /**
  * Renderer for the <code>Button</code> component.
@@ -61,15 +62,18 @@ public class ButtonRenderer extends DefaultComponentRenderer {
         final Button button = (Button) component;
         final ButtonState buttonState = button.getState();
 
-        return new ButtonRenderingState(buttonState);
+        return new ButtonRenderingState(buttonState, button.getStyle());
     }
 
     private static class ButtonRenderingState implements RenderingState {
         private final ButtonState buttonState;
 
-        public ButtonRenderingState(ButtonState buttonState) {
+        private final Style style;
+
+        public ButtonRenderingState(ButtonState buttonState, Style style) {
             super();
             this.buttonState = buttonState;
+            this.style = style;
         }
 
         @Override
@@ -77,6 +81,7 @@ public class ButtonRenderer extends DefaultComponentRenderer {
             final int prime = 31;
             int result = 1;
             result = prime * result + ((buttonState == null) ? 0 : buttonState.hashCode());
+            result = prime * result + System.identityHashCode(style);
             return result;
         }
 
@@ -91,6 +96,8 @@ public class ButtonRenderer extends DefaultComponentRenderer {
             ButtonRenderingState other = (ButtonRenderingState) obj;
             if (buttonState != other.buttonState)
                 return false;
+            if (style != other.style)
+                return false;
             return true;
         }
     }
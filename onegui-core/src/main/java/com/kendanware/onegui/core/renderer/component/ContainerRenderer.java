@@ -29,13 +29,18 @@
 package com.kendanware.onegui.core.renderer.component;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import com.kendanware.onegui.core.Component;
 import com.kendanware.onegui.core.Container;
 import com.kendanware.onegui.core.renderer.ComponentInfo;
+import com.kendanware.onegui.core.renderer.ComponentRenderer;
 import com.kendanware.onegui.core.renderer.ComponentRendererFactory;
 import com.kendanware.onegui.core.renderer.OneGuiRenderer;
 import com.kendanware.onegui.core.renderer.RenderingState;
@@ -60,11 +65,13 @@ public class ContainerRenderer extends DefaultComponentRenderer {
     }
 
     protected void renderChildren(OneGuiRenderer oneGuiRenderer, Component component, Graphics2D graphics) {
-        final List<Component> children = ((Container) component).getChildren();
+        final List<Component> children = this.getVisibleChildren(oneGuiRenderer, component);
+
+        this.renderConcurrently(oneGuiRenderer, children, null);
 
         for (final Component child : children) {
 
-            final ComponentInfo childRendererInfo = oneGuiRenderer.getComponentInfos().get(child.getId());
+            final ComponentInfo childRendererInfo = oneGuiRenderer.getComponentInfo(child);
             final BufferedImage childImage = ComponentRendererFactory.getRenderHandler(child.getClass()).render(oneGuiRenderer, child,
                     childRendererInfo);
 
@@ -73,15 +80,160 @@ public class ContainerRenderer extends DefaultComponentRenderer {
         }
     }
 
+    /**
+     * Draw the container and its children directly onto a shared surface instead of an image of its own. Only children intersecting the clip
+     * of the graphics are drawn, this is used when compositing dirty regions onto a persistent screen image.
+     *
+     * @param oneGuiRenderer
+     *            the renderer
+     * @param component
+     *            the container
+     * @param componentInfo
+     *            the container information
+     * @param graphics
+     *            graphics translated to the position of the container
+     */
+    public void composite(OneGuiRenderer oneGuiRenderer, Component component, ComponentInfo componentInfo, Graphics2D graphics) {
+        this.drawBackground(component, Math.round(componentInfo.getWidth()), Math.round(componentInfo.getHeight()), graphics);
+
+        final Rectangle clip = graphics.getClipBounds();
+        final List<Component> children = this.getVisibleChildren(oneGuiRenderer, component);
+
+        this.renderConcurrently(oneGuiRenderer, children, clip);
+
+        for (final Component child : children) {
+
+            final ComponentInfo childRendererInfo = oneGuiRenderer.getComponentInfo(child);
+
+            if (childRendererInfo == null) {
+                continue;
+            }
+
+            final int x = Math.round(childRendererInfo.getX());
+            final int y = Math.round(childRendererInfo.getY());
+            final int width = Math.round(childRendererInfo.getWidth());
+            final int height = Math.round(childRendererInfo.getHeight());
+
+            if ((clip != null) && !clip.intersects(x, y, width, height)) {
+                continue;
+            }
+
+            final ComponentRenderer childRenderer = ComponentRendererFactory.getRenderHandler(child.getClass());
+
+            if (childRenderer instanceof ContainerRenderer) {
+                final Graphics2D childGraphics = (Graphics2D) graphics.create(x, y, width, height);
+                try {
+                    ((ContainerRenderer) childRenderer).composite(oneGuiRenderer, child, childRendererInfo, childGraphics);
+                } finally {
+                    childGraphics.dispose();
+                }
+            } else {
+                graphics.drawImage(childRenderer.render(oneGuiRenderer, child, childRendererInfo), x, y, null);
+            }
+        }
+    }
+
+    /**
+     * Get the children to render, in drawing order
+     *
+     * @param oneGuiRenderer
+     *            the renderer
+     * @param component
+     *            the container
+     * @return the children that can be visible
+     */
+    public List<Component> getVisibleChildren(OneGuiRenderer oneGuiRenderer, Component component) {
+        return ((Container) component).getChildren();
+    }
+
+    /**
+     * Render the dirty children that have no children of their own on the render executor of the renderer, see
+     * <code>OneGuiRenderer.setRenderExecutor</code>. The images are cached by the renderer, drawing them in order is left to the caller.
+     * Containers are rendered by the caller, so a task never waits for other tasks.
+     *
+     * @param oneGuiRenderer
+     *            the renderer
+     * @param children
+     *            the children
+     * @param clip
+     *            only children intersecting the clip are rendered, null for all children
+     */
+    protected void renderConcurrently(final OneGuiRenderer oneGuiRenderer, final List<Component> children, final Rectangle clip) {
+        final Executor executor = oneGuiRenderer.getRenderExecutor();
+
+        if ((executor == null) || (children.size() < 2)) {
+            return;
+        }
+
+        final List<FutureTask<BufferedImage>> tasks = new ArrayList<>();
+
+        for (final Component child : children) {
+            final ComponentInfo childRendererInfo = oneGuiRenderer.getComponentInfo(child);
+            final ComponentRenderer childRenderer = ComponentRendererFactory.getRenderHandler(child.getClass());
+
+            if ((childRendererInfo == null) || (child instanceof Container) || !(childRenderer instanceof DefaultComponentRenderer)) {
+                continue;
+            }
+
+            if ((clip != null)
+                    && !clip.intersects(Math.round(childRendererInfo.getX()), Math.round(childRendererInfo.getY()),
+                            Math.round(childRendererInfo.getWidth()), Math.round(childRendererInfo.getHeight()))) {
+                continue;
+            }
+
+            if (!((DefaultComponentRenderer) childRenderer).isCached(oneGuiRenderer, child, childRendererInfo)) {
+                tasks.add(new FutureTask<>(() -> childRenderer.render(oneGuiRenderer, child, childRendererInfo)));
+            }
+        }
+
+        if (tasks.size() < 2) {
+            // Not worth handing over, the caller renders it
+            return;
+        }
+
+        for (final FutureTask<BufferedImage> task : tasks) {
+            executor.execute(task);
+        }
+
+        // Wait for every task even when interrupted, a running task must not share a surface with the caller
+        boolean interrupted = false;
+        RuntimeException failure = null;
+
+        for (final FutureTask<BufferedImage> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(
+                                "Failed to render", e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     @Override
     public RenderingState getState(OneGuiRenderer oneGuiRenderer, Component component, ComponentInfo componentInfo) {
 
         List<RenderingState> renderingStates = new ArrayList<RenderingState>();
-        final List<Component> children = ((Container) component).getChildren();
+        final List<Component> children = this.getVisibleChildren(oneGuiRenderer, component);
 
         for (final Component child : children) {
 
-            final ComponentInfo childRendererInfo = oneGuiRenderer.getComponentInfos().get(child.getId());
+            final ComponentInfo childRendererInfo = oneGuiRenderer.getComponentInfo(child);
             final RenderingState state = ComponentRendererFactory.getRenderHandler(child.getClass()).getState(oneGuiRenderer, child,
                     childRendererInfo);
 
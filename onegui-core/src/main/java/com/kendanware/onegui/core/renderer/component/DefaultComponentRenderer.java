@@ -53,29 +53,64 @@ public abstract class DefaultComponentRenderer implements ComponentRenderer {
 
         final RenderingState renderingState = getState(oneGuiRenderer, component, componentInfo);
 
-        if (renderingState.equals(oneGuiRenderer.getLastState().get(component.getId()))) {
-            final BufferedImage cachedImage = oneGuiRenderer.getRenderedImages().get(component.getId());
+        final int width = Math.round(componentInfo.getWidth());
+        final int height = Math.round(componentInfo.getHeight());
 
-            if (cachedImage != null) {
-                return cachedImage;
-            }
+        final BufferedImage cachedImage = this.getCachedImage(oneGuiRenderer, component, renderingState, width, height);
+
+        if (cachedImage != null) {
+            return cachedImage;
         }
 
-        final int width = Math.round(componentInfo.getWidth());
-        final int height = Math.round(componentInfo.getHeight());
+        // The surface is cleared and drawn in place, it is not cached again unless the rendering succeeds
+        oneGuiRenderer.getLastState().remove(component.getId());
+        oneGuiRenderer.getRenderedImages().remove(component.getId());
 
-        final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+        final BufferedImage bufferedImage = oneGuiRenderer.getSurfacePool().acquire(component.getId(), width, height);
         final Graphics2D graphics = bufferedImage.createGraphics();
-        oneGuiRenderer.getGraphicsSettings().apply(graphics);
+        try {
+            oneGuiRenderer.getGraphicsSettings().apply(graphics);
 
-        this.render(oneGuiRenderer, component, componentInfo, width, height, bufferedImage, graphics);
+            this.render(oneGuiRenderer, component, componentInfo, width, height, bufferedImage, graphics);
+        } finally {
+            graphics.dispose();
+        }
 
-        graphics.dispose();
         oneGuiRenderer.getRenderedImages().put(component.getId(), bufferedImage);
         renderingState.equals(oneGuiRenderer.getLastState().put(component.getId(), renderingState));
         return bufferedImage;
     }
 
+    /**
+     * Check if the image rendered last time can be used as is
+     *
+     * @param oneGuiRenderer
+     *            the renderer
+     * @param component
+     *            the component
+     * @param componentInfo
+     *            the component information
+     * @return true if the component does not have to be rendered again, otherwise false
+     */
+    public boolean isCached(final OneGuiRenderer oneGuiRenderer, final Component component, final ComponentInfo componentInfo) {
+        return this.getCachedImage(oneGuiRenderer, component, this.getState(oneGuiRenderer, component, componentInfo),
+                Math.round(componentInfo.getWidth()), Math.round(componentInfo.getHeight())) != null;
+    }
+
+    private BufferedImage getCachedImage(final OneGuiRenderer oneGuiRenderer, final Component component, final RenderingState renderingState,
+            final int width, final int height) {
+
+        if (renderingState.equals(oneGuiRenderer.getLastState().get(component.getId()))) {
+            final BufferedImage cachedImage = oneGuiRenderer.getRenderedImages().get(component.getId());
+
+            if ((cachedImage != null) && (cachedImage.getWidth() == width) && (cachedImage.getHeight() == height)) {
+                return cachedImage;
+            }
+        }
+
+        return null;
+    }
+
     protected void drawBackground(final Component component, final float width, final float height, final Graphics2D graphics) {
         final Style style = component.getStyle();
         final Color backgroundColor = style.getBackgroundColor();
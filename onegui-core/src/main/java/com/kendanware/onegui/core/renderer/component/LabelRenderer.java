@@ -31,13 +31,18 @@ package com.kendanware.onegui.core.renderer.component;
 import static com.kendanware.onegui.core.renderer.RendererMath.getMarginPaddingHeight;
 import static com.kendanware.onegui.core.renderer.RendererMath.getMarginPaddingWidth;
 
+import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 
 import com.kendanware.onegui.core.Align;
 import com.kendanware.onegui.core.Component;
+import com.kendanware.onegui.core.GraphicsSettings;
+import com.kendanware.onegui.core.GraphicsSettings.TextRendering;
 import com.kendanware.onegui.core.VerticalAlign;
+import com.kendanware.onegui.core.assets.GlyphAtlas;
+import com.kendanware.onegui.core.assets.TextMetrics;
 import com.kendanware.onegui.core.control.Label;
 import com.kendanware.onegui.core.renderer.ComponentInfo;
 import com.kendanware.onegui.core.renderer.OneGuiRenderer;
@@ -63,7 +68,8 @@ public class LabelRenderer extends DefaultComponentRenderer {
 
         this.drawBackground(component, width, height, graphics);
 
-        graphics.setColor(RendererMath.toColor(style.getColor()));
+        final Color color = RendererMath.toColor(style.getColor());
+        graphics.setColor(color);
 
         final int fontHeight = RendererMath.getFontHeight(oneGuiRenderer.getHeight(), style.getFontSize());
 
@@ -71,10 +77,13 @@ public class LabelRenderer extends DefaultComponentRenderer {
 
         graphics.setFont(font);
 
-        oneGuiRenderer.getGraphicsSettings().apply(graphics);
+        final GraphicsSettings graphicsSettings = oneGuiRenderer.getGraphicsSettings();
+        graphicsSettings.apply(graphics);
 
-        final int textWidth = graphics.getFontMetrics().stringWidth(label.getText());
-        final int textHeight = graphics.getFontMetrics().getHeight();
+        final TextMetrics textMetrics = component.getOneGui().getAssetHolder()
+                .getTextMetrics(style.getFont(), fontHeight, style.getFontStyle(), graphicsSettings.isAntialias(), label.getText());
+        final int textWidth = textMetrics.getWidth();
+        final int textHeight = textMetrics.getHeight();
 
         final float x;
         final float y;
@@ -104,21 +113,34 @@ public class LabelRenderer extends DefaultComponentRenderer {
             y = (height / 2) + (textHeight / 4) + (paddingTop - paddingBottom);
         }
 
+        if (graphicsSettings.getTextRendering() == TextRendering.GLYPH_ATLAS) {
+            final GlyphAtlas glyphAtlas = component.getOneGui().getAssetHolder()
+                    .getGlyphAtlas(style.getFont(), fontHeight, style.getFontStyle(), graphicsSettings.isAntialias());
+
+            if (glyphAtlas.isSupported(label.getText())) {
+                glyphAtlas.drawString(graphics, label.getText(), color, x, y);
+                return;
+            }
+        }
+
         graphics.drawString(label.getText(), x, y);
     }
 
     @Override
     public RenderingState getState(OneGuiRenderer oneGuiRenderer, Component component, ComponentInfo componentInfo) {
         Label label = (Label) component;
-        return new LabelRenderingState(label.getText());
+        return new LabelRenderingState(label.getText(), label.getStyle());
     }
 
     private static class LabelRenderingState implements RenderingState {
         private final String text;
 
-        public LabelRenderingState(String text) {
+        private final Style style;
+
+        public LabelRenderingState(String text, Style style) {
             super();
             this.text = text;
+            this.style = style;
         }
 
         @Override
@@ -126,6 +148,7 @@ public class LabelRenderer extends DefaultComponentRenderer {
             final int prime = 31;
             int result = 1;
             result = prime * result + ((text == null) ? 0 : text.hashCode());
+            result = prime * result + System.identityHashCode(style);
             return result;
         }
 
@@ -138,6 +161,8 @@ public class LabelRenderer extends DefaultComponentRenderer {
             if (getClass() != obj.getClass())
                 return false;
             LabelRenderingState other = (LabelRenderingState) obj;
+            if (style != other.style)
+                return false;
             if (text == null) {
                 if (other.text != null)
                     return false;
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer.component;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.kendanware.onegui.core.Component;
+import com.kendanware.onegui.core.renderer.ComponentInfo;
+import com.kendanware.onegui.core.renderer.OneGuiRenderer;
+import com.kendanware.onegui.core.renderer.RenderingState;
+import com.kendanware.onegui.core.renderer.ScrollLayout;
+
+/**
+ * Renderer for the <code>ScrollPanel</code> container. Only the children in the viewport are rendered.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class ScrollPanelRenderer extends ContainerRenderer {
+
+    @Override
+    public List<Component> getVisibleChildren(final OneGuiRenderer oneGuiRenderer, final Component component) {
+        final ScrollLayout scrollLayout = oneGuiRenderer.getLayoutStore().getScrollLayout(component);
+
+        return scrollLayout == null ? Collections.<Component> emptyList() : scrollLayout.getVisibleChildren();
+    }
+
+    @Override
+    public RenderingState getState(final OneGuiRenderer oneGuiRenderer, final Component component, final ComponentInfo componentInfo) {
+        final ScrollLayout scrollLayout = oneGuiRenderer.getLayoutStore().getScrollLayout(component);
+
+        // Scrolling moves the children without changing them
+        return new ScrollRenderingState(super.getState(oneGuiRenderer, component, componentInfo), scrollLayout == null ? 0
+                : scrollLayout.getFirst(), scrollLayout == null ? 0.0f : scrollLayout.getScrollOffset());
+    }
+
+    private static class ScrollRenderingState implements RenderingState {
+        private final RenderingState childrenState;
+
+        private final int first;
+
+        private final float scrollOffset;
+
+        public ScrollRenderingState(final RenderingState childrenState, final int first, final float scrollOffset) {
+            this.childrenState = childrenState;
+            this.first = first;
+            this.scrollOffset = scrollOffset;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + childrenState.hashCode();
+            result = prime * result + first;
+            result = prime * result + Float.floatToIntBits(scrollOffset);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ScrollRenderingState other = (ScrollRenderingState) obj;
+            return (first == other.first) && (Float.floatToIntBits(scrollOffset) == Float.floatToIntBits(other.scrollOffset))
+                    && childrenState.equals(other.childrenState);
+        }
+    }
+}
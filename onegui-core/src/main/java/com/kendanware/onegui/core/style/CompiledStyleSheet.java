@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A style sheet in the binary format written by {@link StyleCompiler}. The file is memory mapped and only the header is read when it is
+ * opened, styles are materialized on first lookup.
+ * <p>
+ * Layout, all numbers are big endian integers and offsets are from the start of the file:
+ *
+ * <pre>
+ * header   magic, version, property count, style count, table size
+ * table    table size slots of (name hash, name offset, record offset), name offset -1 if the slot is empty
+ * records  property count value offsets per style, -1 if the property is not declared
+ * strings  length in bytes followed by UTF-8 data
+ * </pre>
+ *
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class CompiledStyleSheet {
+
+    static final int MAGIC = 0x4f475343; // OGSC
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 5 * 4;
+
+    static final int SLOT_SIZE = 3 * 4;
+
+    static final int EMPTY = -1;
+
+    private final ByteBuffer buffer;
+
+    private final int styleCount;
+
+    private final int tableSize;
+
+    private final StyleParser styleParser = new StyleParser();
+
+    private final Map<String, Style> materialized = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param buffer
+     *            the compiled data
+     * @throws IllegalArgumentException
+     *             if the data is not a compiled style sheet of a supported version
+     */
+    public CompiledStyleSheet(final ByteBuffer buffer) {
+        super();
+
+        if (buffer == null) {
+            throw new NullPointerException("Parameter buffer is null");
+        }
+
+        if ((buffer.limit() < CompiledStyleSheet.HEADER_SIZE) || (buffer.getInt(0) != CompiledStyleSheet.MAGIC)) {
+            throw new IllegalArgumentException("Not a compiled style sheet");
+        }
+
+        if (buffer.getInt(4) != CompiledStyleSheet.VERSION) {
+            throw new IllegalArgumentException("Unsupported compiled style sheet version: " + buffer.getInt(4));
+        }
+
+        if (buffer.getInt(8) != StyleDeclaration.getPropertyCount()) {
+            throw new IllegalArgumentException("Compiled style sheet has " + buffer.getInt(8) + " properties, expected "
+                    + StyleDeclaration.getPropertyCount());
+        }
+
+        this.buffer = buffer;
+        this.styleCount = buffer.getInt(12);
+        this.tableSize = buffer.getInt(16);
+    }
+
+    /**
+     * Memory map a compiled style sheet
+     *
+     * @param path
+     *            the file
+     * @return the style sheet
+     * @throws IOException
+     */
+    public static CompiledStyleSheet open(final Path path) throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new CompiledStyleSheet(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()));
+        }
+    }
+
+    /**
+     * Get a style, the style is materialized on first lookup
+     *
+     * @param id
+     *            the selector
+     * @return the style or null if the selector is not in the sheet
+     */
+    public Style getStyle(final String id) {
+        final Style cached = this.materialized.get(id);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final StyleDeclaration declaration = this.getDeclaration(id);
+
+        if (declaration == null) {
+            return null;
+        }
+
+        final Style style = this.styleParser.getStyle(declaration);
+        final Style previous = this.materialized.putIfAbsent(id, style);
+
+        return previous == null ? style : previous;
+    }
+
+    /**
+     * Get the declared values of a selector without materializing a style
+     *
+     * @param id
+     *            the selector
+     * @return the declared values or null if the selector is not in the sheet
+     */
+    public StyleDeclaration getDeclaration(final String id) {
+        final int record = this.find(id);
+
+        if (record == CompiledStyleSheet.EMPTY) {
+            return null;
+        }
+
+        final StyleDeclaration declaration = new StyleDeclaration();
+
+        for (int property = 0; property < StyleDeclaration.getPropertyCount(); property++) {
+            final int offset = this.buffer.getInt(record + (property * 4));
+
+            if (offset != CompiledStyleSheet.EMPTY) {
+                declaration.set(property, this.readString(offset));
+            }
+        }
+
+        return declaration;
+    }
+
+    /**
+     * @param id
+     *            the selector
+     * @return true if the selector is in the sheet
+     */
+    public boolean contains(final String id) {
+        return this.find(id) != CompiledStyleSheet.EMPTY;
+    }
+
+    /**
+     * @return all selectors in the sheet, reads the whole table
+     */
+    public List<String> getIds() {
+        final List<String> ids = new ArrayList<>(this.styleCount);
+
+        for (int slot = 0; slot < this.tableSize; slot++) {
+            final int nameOffset = this.buffer.getInt(CompiledStyleSheet.HEADER_SIZE + (slot * CompiledStyleSheet.SLOT_SIZE) + 4);
+
+            if (nameOffset != CompiledStyleSheet.EMPTY) {
+                ids.add(this.readString(nameOffset));
+            }
+        }
+
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * @return the number of styles in the sheet
+     */
+    public int size() {
+        return this.styleCount;
+    }
+
+    /**
+     * @return the number of styles materialized so far
+     */
+    public int getMaterializedCount() {
+        return this.materialized.size();
+    }
+
+    static int hash(final String id) {
+        final int hash = id.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Find the record of a selector with linear probing
+     *
+     * @return the record offset or {@link #EMPTY}
+     */
+    private int find(final String id) {
+        if (this.tableSize == 0) {
+            return CompiledStyleSheet.EMPTY;
+        }
+
+        final int hash = CompiledStyleSheet.hash(id);
+        final int mask = this.tableSize - 1;
+
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            final int position = CompiledStyleSheet.HEADER_SIZE + (slot * CompiledStyleSheet.SLOT_SIZE);
+            final int nameOffset = this.buffer.getInt(position + 4);
+
+            if (nameOffset == CompiledStyleSheet.EMPTY) {
+                return CompiledStyleSheet.EMPTY;
+            }
+
+            if ((this.buffer.getInt(position) == hash) && id.equals(this.readString(nameOffset))) {
+                return this.buffer.getInt(position + 8);
+            }
+        }
+    }
+
+    private String readString(final int offset) {
+        final int length = this.buffer.getInt(offset);
+        final byte[] bytes = new byte[length];
+
+        final ByteBuffer view = this.buffer.duplicate();
+        view.position(offset + 4);
+        view.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
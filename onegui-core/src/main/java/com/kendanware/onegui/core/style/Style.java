@@ -72,6 +72,9 @@ public final class Style {
     private final VerticalAlign verticalAlign;
     private final ChildLayout childLayout;
 
+    // Styles are compared constantly by the renderer, calculate the hash once
+    private final int hash;
+
     /**
      *
      * @param width
@@ -121,10 +124,10 @@ public final class Style {
         this.font = font;
         this.fontSize = fontSize;
         this.fontStyle = fontStyle;
+        this.hash = this.calculateHashCode();
     }
 
-    @Override
-    public int hashCode() {
+    private int calculateHashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + ((align == null) ? 0 : align.hashCode());
@@ -149,6 +152,11 @@ public final class Style {
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -158,6 +166,8 @@ public final class Style {
         if (getClass() != obj.getClass())
             return false;
         Style other = (Style) obj;
+        if (hash != other.hash)
+            return false;
         if (align != other.align)
             return false;
         if (backgroundColor == null) {
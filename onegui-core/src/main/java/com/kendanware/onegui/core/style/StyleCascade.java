@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves the selectors matching a component into one flattened declaration. Selectors are, from lowest to highest priority:
+ * <ul>
+ * <li><code>@Type</code> matches components of the class with that simple name or a subclass of it, a more specific type wins</li>
+ * <li><code>.class</code> matches components with that style class, a class added later wins</li>
+ * <li><code>id</code> matches the component with that id</li>
+ * </ul>
+ * The properties color, font, fontSize and fontStyle are inherited from the parent when no matching selector declares them.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class StyleCascade {
+
+    /** Prefix of type selectors */
+    public static final char TYPE_PREFIX = '@';
+
+    /** Prefix of class selectors */
+    public static final char CLASS_PREFIX = '.';
+
+    private static final int[] INHERITED = { StyleDeclaration.COLOR, StyleDeclaration.FONT, StyleDeclaration.FONT_SIZE,
+            StyleDeclaration.FONT_STYLE };
+
+    private final StyleParser styleParser = new StyleParser();
+
+    /**
+     * Cascade the selectors matching a component
+     *
+     * @param declarations
+     *            looks up the declaration of a selector, returns null if there is none
+     * @param type
+     *            the class of the component
+     * @param styleClasses
+     *            the style classes of the component, lowest priority first
+     * @param id
+     *            the id of the component
+     * @param inherited
+     *            the cascaded declaration of the parent or null
+     * @return the cascaded declaration or null if no selector matched the component
+     */
+    public StyleDeclaration cascade(final Function<String, StyleDeclaration> declarations, final Class<?> type,
+            final Collection<String> styleClasses, final String id, final StyleDeclaration inherited) {
+
+        final StyleDeclaration cascaded = new StyleDeclaration();
+        boolean matched = false;
+
+        if (inherited != null) {
+            for (final int index : StyleCascade.INHERITED) {
+                cascaded.set(index, inherited.get(index));
+            }
+        }
+
+        // Most general type first
+        final Deque<Class<?>> types = new ArrayDeque<>();
+        for (Class<?> current = type; (current != null) && (current != Object.class); current = current.getSuperclass()) {
+            types.push(current);
+        }
+
+        for (final Class<?> current : types) {
+            matched |= StyleCascade.merge(cascaded, declarations.apply(StyleCascade.TYPE_PREFIX + current.getSimpleName()));
+        }
+
+        for (final String styleClass : styleClasses) {
+            matched |= StyleCascade.merge(cascaded, declarations.apply(StyleCascade.CLASS_PREFIX + styleClass));
+        }
+
+        matched |= StyleCascade.merge(cascaded, declarations.apply(id));
+
+        return matched ? cascaded : null;
+    }
+
+    /**
+     * Check if any of the given selectors could match a component
+     *
+     * @param selectors
+     *            the selectors
+     * @param type
+     *            the class of the component
+     * @param styleClasses
+     *            the style classes of the component
+     * @param id
+     *            the id of the component
+     * @return true if at least one selector matches the component
+     */
+    public boolean matches(final Set<String> selectors, final Class<?> type, final Collection<String> styleClasses, final String id) {
+        if (selectors.isEmpty()) {
+            return false;
+        }
+
+        if (selectors.contains(id)) {
+            return true;
+        }
+
+        for (final String styleClass : styleClasses) {
+            if (selectors.contains(StyleCascade.CLASS_PREFIX + styleClass)) {
+                return true;
+            }
+        }
+
+        for (Class<?> current = type; (current != null) && (current != Object.class); current = current.getSuperclass()) {
+            if (selectors.contains(StyleCascade.TYPE_PREFIX + current.getSimpleName())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Produce the style of a cascaded declaration. Styles are interned, equal declarations give the same instance.
+     *
+     * @param declaration
+     *            the cascaded declaration
+     * @return the style
+     */
+    public Style getStyle(final StyleDeclaration declaration) {
+        return this.styleParser.getStyle(declaration);
+    }
+
+    private static boolean merge(final StyleDeclaration cascaded, final StyleDeclaration declaration) {
+        if (declaration == null) {
+            return false;
+        }
+
+        cascaded.merge(declaration);
+        return true;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles onegui style files (.ogs) into the binary format read by {@link CompiledStyleSheet}. Values are stored as declared and
+ * validated when a style is materialized, identical strings are stored once.
+ * <p>
+ * Usage: <code>java com.kendanware.onegui.core.style.StyleCompiler input.ogs output.ogsc</code>
+ *
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class StyleCompiler {
+
+    /**
+     * Compile a style file
+     *
+     * @param inputStream
+     *            the .ogs stream using UTF-8 encoding, note that the stream needs to be closed.
+     * @param path
+     *            the file to write
+     * @throws IOException
+     */
+    public void compile(final InputStream inputStream, final Path path) throws IOException {
+        final Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        this.compile(new StyleParser().parseDeclarations(reader), path);
+    }
+
+    /**
+     * Compile parsed declarations
+     *
+     * @param declarations
+     *            the declarations by selector
+     * @param path
+     *            the file to write
+     * @throws IOException
+     */
+    public void compile(final Map<String, StyleDeclaration> declarations, final Path path) throws IOException {
+        final ByteBuffer buffer = this.compile(declarations);
+
+        try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Compile parsed declarations into memory
+     *
+     * @param declarations
+     *            the declarations by selector
+     * @return the compiled data, ready to be read
+     */
+    public ByteBuffer compile(final Map<String, StyleDeclaration> declarations) {
+        final int propertyCount = StyleDeclaration.getPropertyCount();
+        final int styleCount = declarations.size();
+
+        // Power of two with at most 50% load
+        int tableSize = styleCount == 0 ? 0 : 1;
+        while (tableSize < (styleCount * 2)) {
+            tableSize <<= 1;
+        }
+
+        final int recordsOffset = CompiledStyleSheet.HEADER_SIZE + (tableSize * CompiledStyleSheet.SLOT_SIZE);
+        final int stringsOffset = recordsOffset + (styleCount * propertyCount * 4);
+
+        // Assign string offsets, each distinct string is stored once
+        final Map<String, Integer> stringOffsets = new HashMap<>();
+        final List<byte[]> strings = new ArrayList<>();
+        int stringsSize = 0;
+
+        for (final Map.Entry<String, StyleDeclaration> entry : declarations.entrySet()) {
+            stringsSize = this.addString(entry.getKey(), stringsOffset, stringsSize, stringOffsets, strings);
+
+            for (int property = 0; property < propertyCount; property++) {
+                final String value = entry.getValue().get(property);
+
+                if (value != null) {
+                    stringsSize = this.addString(value, stringsOffset, stringsSize, stringOffsets, strings);
+                }
+            }
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(stringsOffset + stringsSize);
+        buffer.putInt(CompiledStyleSheet.MAGIC);
+        buffer.putInt(CompiledStyleSheet.VERSION);
+        buffer.putInt(propertyCount);
+        buffer.putInt(styleCount);
+        buffer.putInt(tableSize);
+
+        for (int slot = 0; slot < tableSize; slot++) {
+            buffer.putInt(0);
+            buffer.putInt(CompiledStyleSheet.EMPTY);
+            buffer.putInt(CompiledStyleSheet.EMPTY);
+        }
+
+        int record = recordsOffset;
+        for (final Map.Entry<String, StyleDeclaration> entry : declarations.entrySet()) {
+            final int hash = CompiledStyleSheet.hash(entry.getKey());
+            final int mask = tableSize - 1;
+
+            int slot = hash & mask;
+            while (buffer.getInt(CompiledStyleSheet.HEADER_SIZE + (slot * CompiledStyleSheet.SLOT_SIZE) + 4) != CompiledStyleSheet.EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            final int position = CompiledStyleSheet.HEADER_SIZE + (slot * CompiledStyleSheet.SLOT_SIZE);
+            buffer.putInt(position, hash);
+            buffer.putInt(position + 4, stringOffsets.get(entry.getKey()));
+            buffer.putInt(position + 8, record);
+
+            for (int property = 0; property < propertyCount; property++) {
+                final String value = entry.getValue().get(property);
+                buffer.putInt(record + (property * 4), value == null ? CompiledStyleSheet.EMPTY : stringOffsets.get(value));
+            }
+
+            record += propertyCount * 4;
+        }
+
+        buffer.position(stringsOffset);
+        for (final byte[] bytes : strings) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private int addString(final String value, final int stringsOffset, final int stringsSize, final Map<String, Integer> stringOffsets,
+            final List<byte[]> strings) {
+
+        if (stringOffsets.containsKey(value)) {
+            return stringsSize;
+        }
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        stringOffsets.put(value, stringsOffset + stringsSize);
+        strings.add(bytes);
+
+        return stringsSize + 4 + bytes.length;
+    }
+
+    public static void main(final String... arguments) throws IOException {
+        if (arguments.length != 2) {
+            System.err.println("Usage: StyleCompiler <input.ogs> <output.ogsc>");
+            System.exit(1);
+        }
+
+        try (final InputStream inputStream = new FileInputStream(arguments[0])) {
+            new StyleCompiler().compile(inputStream, Paths.get(arguments[1]));
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.util.Arrays;
+
+/**
+ * The declared property values of one selector, as written in the style file. Values are stored in an array indexed by property, see
+ * the index constants and {@link #indexOf(String)}.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class StyleDeclaration {
+
+    /** Index of {@link StyleProperty#HEIGHT} */
+    public static final int HEIGHT = 0;
+
+    /** Index of {@link StyleProperty#WIDTH} */
+    public static final int WIDTH = 1;
+
+    /** Index of {@link StyleProperty#MARGIN_BOTTOM} */
+    public static final int MARGIN_BOTTOM = 2;
+
+    /** Index of {@link StyleProperty#MARGIN_LEFT} */
+    public static final int MARGIN_LEFT = 3;
+
+    /** Index of {@link StyleProperty#MARGIN_RIGHT} */
+    public static final int MARGIN_RIGHT = 4;
+
+    /** Index of {@link StyleProperty#MARGIN_TOP} */
+    public static final int MARGIN_TOP = 5;
+
+    /** Index of {@link StyleProperty#PADDING_BOTTOM} */
+    public static final int PADDING_BOTTOM = 6;
+
+    /** Index of {@link StyleProperty#PADDING_LEFT} */
+    public static final int PADDING_LEFT = 7;
+
+    /** Index of {@link StyleProperty#PADDING_RIGHT} */
+    public static final int PADDING_RIGHT = 8;
+
+    /** Index of {@link StyleProperty#PADDING_TOP} */
+    public static final int PADDING_TOP = 9;
+
+    /** Index of {@link StyleProperty#BACKGROUND_IMAGE} */
+    public static final int BACKGROUND_IMAGE = 10;
+
+    /** Index of {@link StyleProperty#BACKGROUND_COLOR} */
+    public static final int BACKGROUND_COLOR = 11;
+
+    /** Index of {@link StyleProperty#COLOR} */
+    public static final int COLOR = 12;
+
+    /** Index of {@link StyleProperty#FONT} */
+    public static final int FONT = 13;
+
+    /** Index of {@link StyleProperty#FONT_SIZE} */
+    public static final int FONT_SIZE = 14;
+
+    /** Index of {@link StyleProperty#FONT_STYLE} */
+    public static final int FONT_STYLE = 15;
+
+    /** Index of {@link StyleProperty#ALIGN} */
+    public static final int ALIGN = 16;
+
+    /** Index of {@link StyleProperty#VERTICAL_ALIGN} */
+    public static final int VERTICAL_ALIGN = 17;
+
+    /** Index of {@link StyleProperty#CHILD_LAYOUT} */
+    public static final int CHILD_LAYOUT = 18;
+
+    /**
+     * All available properties, the position is the property index
+     */
+    static final String[] PROPERTIES = { StyleProperty.HEIGHT, StyleProperty.WIDTH, StyleProperty.MARGIN_BOTTOM, StyleProperty.MARGIN_LEFT,
+            StyleProperty.MARGIN_RIGHT, StyleProperty.MARGIN_TOP, StyleProperty.PADDING_BOTTOM, StyleProperty.PADDING_LEFT,
+            StyleProperty.PADDING_RIGHT, StyleProperty.PADDING_TOP, StyleProperty.BACKGROUND_IMAGE, StyleProperty.BACKGROUND_COLOR,
+            StyleProperty.COLOR, StyleProperty.FONT, StyleProperty.FONT_SIZE, StyleProperty.FONT_STYLE, StyleProperty.ALIGN,
+            StyleProperty.VERTICAL_ALIGN, StyleProperty.CHILD_LAYOUT };
+
+    private final String[] values = new String[StyleDeclaration.PROPERTIES.length];
+
+    /**
+     * Get the index of a property
+     *
+     * @param property
+     *            the property name
+     * @return the index or -1 if there is no such property
+     */
+    public static int indexOf(final String property) {
+
+        for (int index = 0; index < StyleDeclaration.PROPERTIES.length; index++) {
+            if (StyleDeclaration.PROPERTIES[index].equals(property)) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get the index of a property without creating a string
+     *
+     * @param chars
+     *            the characters
+     * @param offset
+     *            the start of the property name
+     * @param length
+     *            the length of the property name
+     * @return the index or -1 if there is no such property
+     */
+    static int indexOf(final char[] chars, final int offset, final int length) {
+
+        for (int index = 0; index < StyleDeclaration.PROPERTIES.length; index++) {
+            final String property = StyleDeclaration.PROPERTIES[index];
+
+            if (property.length() != length) {
+                continue;
+            }
+
+            int i = 0;
+            while ((i < length) && (property.charAt(i) == chars[offset + i])) {
+                i++;
+            }
+
+            if (i == length) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the number of available properties
+     */
+    public static int getPropertyCount() {
+        return StyleDeclaration.PROPERTIES.length;
+    }
+
+    /**
+     * @param index
+     *            the property index
+     * @return the property name
+     */
+    public static String getProperty(final int index) {
+        return StyleDeclaration.PROPERTIES[index];
+    }
+
+    /**
+     * Get a declared value
+     *
+     * @param index
+     *            the property index
+     * @return the value or null if not declared
+     */
+    public String get(final int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Get a declared value
+     *
+     * @param property
+     *            the property name
+     * @return the value or null if not declared
+     */
+    public String get(final String property) {
+        final int index = StyleDeclaration.indexOf(property);
+        return index < 0 ? null : this.values[index];
+    }
+
+    /**
+     * Declare a value, replacing any earlier value of the property
+     *
+     * @param index
+     *            the property index
+     * @param value
+     *            the value
+     */
+    public void set(final int index, final String value) {
+        this.values[index] = value;
+    }
+
+    /**
+     * Declare all values declared by another declaration, replacing earlier values of the same properties
+     *
+     * @param declaration
+     *            the declaration to copy from
+     */
+    void merge(final StyleDeclaration declaration) {
+        for (int index = 0; index < this.values.length; index++) {
+            if (declaration.values[index] != null) {
+                this.values[index] = declaration.values[index];
+            }
+        }
+    }
+
+    /**
+     * @return true if no property is declared
+     */
+    public boolean isEmpty() {
+        for (final String value : this.values) {
+            if (value != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.values);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof StyleDeclaration)) {
+            return false;
+        }
+
+        return Arrays.equals(this.values, ((StyleDeclaration) obj).values);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("StyleDeclaration [");
+
+        for (int index = 0; index < this.values.length; index++) {
+            if (this.values[index] != null) {
+                builder.append(StyleDeclaration.PROPERTIES[index]).append('=').append(this.values[index]).append(", ");
+            }
+        }
+
+        return builder.append(']').toString();
+    }
+}
@@ -31,15 +31,14 @@ package com.kendanware.onegui.core.style;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -67,11 +66,18 @@ public class StyleParser {
 
     private static final Dimension DIMESION_100_PERCENT = new Dimension("100%");
 
-    private static final Set<String> AVAILABLE_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(StyleProperty.HEIGHT,
-            StyleProperty.WIDTH, StyleProperty.MARGIN_BOTTOM, StyleProperty.MARGIN_LEFT, StyleProperty.MARGIN_RIGHT, StyleProperty.MARGIN_TOP,
-            StyleProperty.PADDING_BOTTOM, StyleProperty.PADDING_LEFT, StyleProperty.PADDING_RIGHT, StyleProperty.PADDING_TOP,
-            StyleProperty.BACKGROUND_IMAGE, StyleProperty.BACKGROUND_COLOR, StyleProperty.COLOR, StyleProperty.FONT, StyleProperty.FONT_SIZE,
-            StyleProperty.FONT_STYLE, StyleProperty.ALIGN, StyleProperty.VERTICAL_ALIGN, StyleProperty.CHILD_LAYOUT)));
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /** Canonical instances shared by all parsed styles */
+    private static final Interner<Dimension> DIMENSIONS = new Interner<>();
+
+    private static final Interner<Color> COLORS = new Interner<>();
+
+    private static final Interner<FontSize> FONT_SIZES = new Interner<>();
+
+    private static final Interner<String> STRINGS = new Interner<>();
+
+    private static final Interner<Style> STYLES = new Interner<>();
 
     /**
      * Different parsing states
@@ -101,218 +107,324 @@ public class StyleParser {
      * @throws IOException
      */
     public Map<String, Style> parseStyle(final InputStreamReader inputStreamReader) throws IOException {
+        return this.parseStyle((Reader) inputStreamReader);
+    }
 
-        if (inputStreamReader == null) {
-            throw new IllegalArgumentException("Parameter inputStream is null");
-        }
+    /**
+     * Parse a onegui style file (.ogs)
+     *
+     * @param reader
+     *            the reader to parse, note that the reader needs to be closed.
+     * @return a map with all compiled styles
+     * @throws IOException
+     */
+    public Map<String, Style> parseStyle(final Reader reader) throws IOException {
+
+        return this.getStyles(this.parseDeclarations(reader));
+    }
 
+    /**
+     * Produce style objects from declared values, properties that are not declared get their default value
+     *
+     * @param declarations
+     *            the declarations by selector
+     * @return a map with all compiled styles
+     */
+    public Map<String, Style> getStyles(final Map<String, StyleDeclaration> declarations) {
         final Map<String, Style> styles = new ConcurrentHashMap<>();
 
-        final Map<String, Map<String, String>> rawData = new HashMap<>();
+        // Produce style objects from the declared values
+        for (final Map.Entry<String, StyleDeclaration> entry : declarations.entrySet()) {
+            styles.put(entry.getKey(), this.getStyle(entry.getValue()));
+        }
 
-        final List<String> currentStyles = new ArrayList<String>();
-        StringBuilder buffer = new StringBuilder();
+        return Collections.unmodifiableMap(styles);
+    }
+
+    /**
+     * Parse a onegui style file (.ogs) into the declared values of each selector, without producing style objects
+     *
+     * @param reader
+     *            the reader to parse, note that the reader needs to be closed.
+     * @return the declarations by selector in the order they first appear
+     * @throws IOException
+     */
+    public Map<String, StyleDeclaration> parseDeclarations(final Reader reader) throws IOException {
+
+        if (reader == null) {
+            throw new IllegalArgumentException("Parameter reader is null");
+        }
+
+        final Map<String, StyleDeclaration> declarations = new LinkedHashMap<>();
+        final List<StyleDeclaration> currentStyles = new ArrayList<>();
+        final Token token = new Token();
+        final char[] chunk = new char[StyleParser.READ_BUFFER_SIZE];
 
         State state = State.STYLE_NAME;
-        String property = null;
+        int property = -1;
 
-        int i;
         int lineNumber = 1;
         int columnNumber = 0;
         boolean lastCharWasSlash = false;
         State lastState = null;
 
-        while ((i = inputStreamReader.read()) != -1) {
-            columnNumber++;
+        int read;
+        while ((read = reader.read(chunk, 0, chunk.length)) != -1) {
+            for (int index = 0; index < read; index++) {
+                final char c = chunk[index];
+                columnNumber++;
+
+                if (state == State.COMMENT) {
+                    if (c == '\n') {
+                        state = lastState;
+                        token.append(' ');
+                        lineNumber++;
+                        columnNumber = 0;
+                    }
+                    continue;
+                }
 
-            if (i == '/') {
-                if (lastCharWasSlash) {
-                    lastState = state;
-                    state = State.COMMENT;
+                if (c == '/') {
+                    if (lastCharWasSlash) {
+                        lastState = state;
+                        state = State.COMMENT;
+                        lastCharWasSlash = false;
+                    } else {
+                        lastCharWasSlash = true;
+                    }
+                    continue;
+                } else if (lastCharWasSlash) {
+                    token.append('/');
                     lastCharWasSlash = false;
-                } else {
-                    lastCharWasSlash = true;
                 }
-                continue;
-            } else if (lastCharWasSlash) {
-                buffer.append("/");
-                lastCharWasSlash = false;
-            }
 
-            if (state == State.COMMENT) {
-                if (i == '\n') {
-                    state = lastState;
+                switch (c) {
+                case ':': // end of style property name
+                    if (state != State.PROPERTY) {
+                        throw new IllegalArgumentException("Misplaced ':' at line " + lineNumber + " and column " + columnNumber);
+                    }
+
+                    property = this.getProperty(token, lineNumber, columnNumber);
+                    token.clear();
+                    state = State.VALUE;
+                    break;
+
+                case ';': // end of style value
+                    if (state != State.VALUE) {
+                        throw new IllegalArgumentException("Misplaced ';' at line " + lineNumber + " and column " + columnNumber);
+                    }
+
+                    this.addStyleProperty(currentStyles, property, this.getValue(token, lineNumber, columnNumber), lineNumber, columnNumber);
+
+                    property = -1;
+                    token.clear();
+                    state = State.PROPERTY;
+                    break;
+
+                case '{': // start of block definition
+                    this.addStyleId(declarations, currentStyles, token);
+                    token.clear();
+                    state = State.PROPERTY;
+                    break;
+
+                case '}': // end of block definition
+                    if (state != State.PROPERTY) {
+                        throw new IllegalArgumentException("Misplaced '}' at line " + lineNumber + " and column " + columnNumber);
+                    }
+
+                    property = -1;
+                    currentStyles.clear();
+                    token.clear();
+                    state = State.STYLE_NAME;
+                    break;
+
+                case ',': // separate style property name
+                    if (state != State.STYLE_NAME) {
+                        throw new IllegalArgumentException("Misplaced ',' at line " + lineNumber + " and column " + columnNumber);
+                    }
+
+                    this.addStyleId(declarations, currentStyles, token);
+                    token.clear();
+                    break;
+
+                case '\n': // new line
+                    token.append(' ');
                     lineNumber++;
                     columnNumber = 0;
-                }
-                continue;
-            }
+                    break;
 
-            if (i == ':') { // end of style property name
+                case '\t': // tab
+                case '\r': // new line
+                    token.append(' ');
+                    break;
 
-                if (state != State.PROPERTY) {
-                    throw new IllegalArgumentException("Misplaced ':' at line " + lineNumber + " and column " + columnNumber);
+                default:
+                    token.append(c);
+                    break;
                 }
+            }
+        }
 
-                property = this.getProperty(buffer, lineNumber, columnNumber);
-                buffer = new StringBuilder();
-                state = State.VALUE;
+        // Selectors without any property are not styles
+        declarations.values().removeIf(declaration -> declaration.isEmpty());
 
-            } else if (i == ';') { // end of style value
+        return declarations;
+    }
 
-                if (state != State.VALUE) {
-                    throw new IllegalArgumentException("Misplaced ';' at line " + lineNumber + " and column " + columnNumber);
-                }
+    private void addStyleProperty(final List<StyleDeclaration> currentStyles, final int property, final String value, final int lineNumber,
+            final int columnNumber) {
+        if (currentStyles.isEmpty()) {
+            throw new IllegalArgumentException("No style name found at line " + lineNumber + " and column " + columnNumber);
+        }
 
-                final String value = this.getValue(buffer, lineNumber, columnNumber);
+        for (final StyleDeclaration declaration : currentStyles) {
+            declaration.set(property, value);
+        }
+    }
 
-                this.addStyleProperty(currentStyles, rawData, property, value, lineNumber, columnNumber);
+    protected void addStyleId(final Map<String, StyleDeclaration> declarations, final List<StyleDeclaration> currentStyles, final Token token) {
+        final String name = token.toTrimmedString();
 
-                property = null;
-                buffer = new StringBuilder();
-                state = State.PROPERTY;
-            } else if (i == '{') { // start of block definition
+        if (!name.isEmpty()) {
+            StyleDeclaration declaration = declarations.get(name);
+            if (declaration == null) {
+                declaration = new StyleDeclaration();
+                declarations.put(name, declaration);
+            }
 
-                this.addStyleId(currentStyles, buffer);
-                buffer = new StringBuilder();
-                state = State.PROPERTY;
+            currentStyles.add(declaration);
+        }
+    }
 
-            } else if (i == '}') { // end of block definition
+    protected int getProperty(final Token token, final int lineNumber, final int columnNumber) {
+        token.trim();
 
-                if (state != State.PROPERTY) {
-                    throw new IllegalArgumentException("Misplaced '}' at line " + lineNumber + " and column " + columnNumber);
-                }
+        if (token.length() == 0) {
+            throw new IllegalArgumentException("No property name found at line " + lineNumber + " and column " + columnNumber);
+        }
 
-                property = null;
-                currentStyles.clear();
-                buffer = new StringBuilder();
-                state = State.STYLE_NAME;
+        // Known property names are matched in place, no string is created
+        final int property = StyleDeclaration.indexOf(token.chars(), token.offset(), token.length());
 
-            } else if (i == ',') { // separate style property name
+        if (property < 0) {
+            throw new IllegalArgumentException("Invalid property name \"" + token.toTrimmedString() + "\" at line " + lineNumber + " and column "
+                    + columnNumber);
+        }
 
-                if (state != State.STYLE_NAME) {
-                    throw new IllegalArgumentException("Misplaced ',' at line " + lineNumber + " and column " + columnNumber);
-                }
+        StyleParser.LOG.trace("Property {} at line {}", StyleDeclaration.getProperty(property), lineNumber);
 
-                this.addStyleId(currentStyles, buffer);
-                buffer = new StringBuilder();
-
-            } else if (i == '\t') { // tab
-                buffer.append(" ");
-            } else if (i == '\r') { // new line
-                buffer.append(" ");
-            } else if (i == '\n') { // new line
-                buffer.append(" ");
-                lineNumber++;
-                columnNumber = 0;
-            } else {
-                buffer.append((char) i);
-            }
-        }
+        return property;
+    }
 
-        // Produce style objects from raw data
-        for (final Map.Entry<String, Map<String, String>> entry : rawData.entrySet()) {
-            styles.put(entry.getKey(), this.getStyle(entry.getValue()));
+    protected String getValue(final Token token, final int lineNumber, final int columnNumber) {
+        final String value = token.toTrimmedString();
+
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("No property value found at line " + lineNumber + " and column " + columnNumber);
         }
 
-        return Collections.unmodifiableMap(styles);
+        return value;
     }
 
-    private void addStyleProperty(final List<String> currentStyles, final Map<String, Map<String, String>> data, final String property,
-            final String value, final int lineNumber, final int columnNumber) {
-        if (currentStyles.isEmpty()) {
-            throw new IllegalArgumentException("No style name found at line " + lineNumber + " and column " + columnNumber);
-        }
+    /**
+     * Reusable character buffer for the token being read
+     */
+    protected static final class Token {
+        private char[] chars = new char[64];
 
-        if (!StyleParser.AVAILABLE_PROPERTIES.contains(property)) {
-            throw new IllegalArgumentException("Invalid property name \"" + property + "\" at line " + lineNumber + " and column " + columnNumber);
-        }
+        private int start;
+
+        private int end;
 
-        for (final String styleName : currentStyles) {
-            Map<String, String> properties = data.get(styleName);
-            if (properties == null) {
-                properties = new HashMap<>();
-                data.put(styleName, properties);
+        void append(final char c) {
+            if (this.end == this.chars.length) {
+                this.chars = Arrays.copyOf(this.chars, this.chars.length * 2);
             }
 
-            StyleParser.LOG.trace("Add style property {} and value {} for style name {}", property, value, styleName);
-            properties.put(property, value);
+            this.chars[this.end++] = c;
         }
-    }
-
-    protected void addStyleId(final List<String> currentStyles, final StringBuilder buffer) {
-        final String name = buffer.toString().trim();
 
-        if (!name.isEmpty()) {
-            currentStyles.add(name);
+        void clear() {
+            this.start = 0;
+            this.end = 0;
         }
-    }
 
-    protected String getProperty(final StringBuilder buffer, final int lineNumber, final int columnNumber) {
-        final String property = buffer.toString().trim();
+        /**
+         * Remove leading and trailing white space
+         */
+        void trim() {
+            while ((this.start < this.end) && (this.chars[this.start] <= ' ')) {
+                this.start++;
+            }
 
-        if (property.isEmpty()) {
-            throw new IllegalArgumentException("No property name found at line " + lineNumber + " and column " + columnNumber);
+            while ((this.end > this.start) && (this.chars[this.end - 1] <= ' ')) {
+                this.end--;
+            }
         }
 
-        return property;
-    }
+        char[] chars() {
+            return this.chars;
+        }
 
-    protected String getValue(final StringBuilder buffer, final int lineNumber, final int columnNumber) {
-        final String value = buffer.toString().trim();
+        int offset() {
+            return this.start;
+        }
 
-        if (value.isEmpty()) {
-            throw new IllegalArgumentException("No property value found at line " + lineNumber + " and column " + columnNumber);
+        int length() {
+            return this.end - this.start;
         }
 
-        return value;
+        String toTrimmedString() {
+            this.trim();
+            return new String(this.chars, this.start, this.end - this.start);
+        }
     }
 
-    protected Style getStyle(final Map<String, String> properties) {
+    protected Style getStyle(final StyleDeclaration properties) {
 
-        return new Style(this.getDimension(properties, StyleProperty.WIDTH, StyleParser.DIMESION_100_PERCENT), // width
-                this.getDimension(properties, StyleProperty.HEIGHT, StyleParser.DIMESION_100_PERCENT), // height
-                this.getColor(properties, StyleProperty.COLOR, Color.WHITE), // color
+        return StyleParser.STYLES.intern(new Style(this.getDimension(properties, StyleDeclaration.WIDTH, StyleParser.DIMESION_100_PERCENT), // width
+                this.getDimension(properties, StyleDeclaration.HEIGHT, StyleParser.DIMESION_100_PERCENT), // height
+                this.getColor(properties, StyleDeclaration.COLOR, Color.WHITE), // color
                 this.getBackgroundImage(properties), // background image
-                this.getColor(properties, StyleProperty.BACKGROUND_COLOR, Color.TRANSPARENT), // background color
-                this.getDimension(properties, StyleProperty.PADDING_LEFT, Dimension.ZERO), // padding left
-                this.getDimension(properties, StyleProperty.PADDING_RIGHT, Dimension.ZERO), // padding right
-                this.getDimension(properties, StyleProperty.PADDING_BOTTOM, Dimension.ZERO), // padding bottom
-                this.getDimension(properties, StyleProperty.PADDING_TOP, Dimension.ZERO), // padding top
-                this.getDimension(properties, StyleProperty.MARGIN_LEFT, Dimension.ZERO), // margin left
-                this.getDimension(properties, StyleProperty.MARGIN_RIGHT, Dimension.ZERO), // margin right
-                this.getDimension(properties, StyleProperty.MARGIN_BOTTOM, Dimension.ZERO), // margin bottom
-                this.getDimension(properties, StyleProperty.MARGIN_TOP, Dimension.ZERO), // margin top
+                this.getColor(properties, StyleDeclaration.BACKGROUND_COLOR, Color.TRANSPARENT), // background color
+                this.getDimension(properties, StyleDeclaration.PADDING_LEFT, Dimension.ZERO), // padding left
+                this.getDimension(properties, StyleDeclaration.PADDING_RIGHT, Dimension.ZERO), // padding right
+                this.getDimension(properties, StyleDeclaration.PADDING_BOTTOM, Dimension.ZERO), // padding bottom
+                this.getDimension(properties, StyleDeclaration.PADDING_TOP, Dimension.ZERO), // padding top
+                this.getDimension(properties, StyleDeclaration.MARGIN_LEFT, Dimension.ZERO), // margin left
+                this.getDimension(properties, StyleDeclaration.MARGIN_RIGHT, Dimension.ZERO), // margin right
+                this.getDimension(properties, StyleDeclaration.MARGIN_BOTTOM, Dimension.ZERO), // margin bottom
+                this.getDimension(properties, StyleDeclaration.MARGIN_TOP, Dimension.ZERO), // margin top
                 this.getChildLayout(properties), // child layout
                 this.getAlign(properties), // align
                 this.getVerticalAlign(properties), // vertical align
                 this.getFont(properties), // font
                 this.getFontSize(properties), // font size
                 this.getFontStyle(properties) // font style
-        );
+        ));
     }
 
-    protected Color getColor(final Map<String, String> properties, final String property, final Color defaultValue) {
+    protected Color getColor(final StyleDeclaration properties, final int property, final Color defaultValue) {
         final String value = properties.get(property);
         if ((value == null) || value.isEmpty()) {
             return defaultValue;
         }
 
-        return new Color(value);
+        return StyleParser.COLORS.intern(new Color(value));
     }
 
-    protected Dimension getDimension(final Map<String, String> properties, final String property, final Dimension defaultValue) {
+    protected Dimension getDimension(final StyleDeclaration properties, final int property, final Dimension defaultValue) {
 
         final String value = properties.get(property);
         if ((value == null) || value.isEmpty()) {
             return defaultValue;
         }
 
-        return new Dimension(value);
+        return StyleParser.DIMENSIONS.intern(new Dimension(value));
     }
 
-    protected String getBackgroundImage(final Map<String, String> properties) {
-        final String value = properties.get(StyleProperty.BACKGROUND_IMAGE);
+    protected String getBackgroundImage(final StyleDeclaration properties) {
+        final String value = properties.get(StyleDeclaration.BACKGROUND_IMAGE);
 
         if ((value == null) || value.isEmpty()) {
             return null;
@@ -324,14 +436,14 @@ public class StyleParser {
 
         if (value.startsWith("\"") && value.endsWith("\"")) {
             if (value.length() > 3) {
-                return value.substring(1, value.length() - 1);
+                return StyleParser.STRINGS.intern(value.substring(1, value.length() - 1));
             }
         }
         return null;
     }
 
-    protected String getFont(final Map<String, String> properties) {
-        final String value = properties.get(StyleProperty.FONT);
+    protected String getFont(final StyleDeclaration properties) {
+        final String value = properties.get(StyleDeclaration.FONT);
 
         if ((value == null) || value.isEmpty()) {
             return null;
@@ -339,25 +451,25 @@ public class StyleParser {
 
         if (value.startsWith("\"") && value.endsWith("\"")) {
             if (value.length() > 3) {
-                return value.substring(1, value.length() - 1);
+                return StyleParser.STRINGS.intern(value.substring(1, value.length() - 1));
             }
         }
         return null;
     }
 
-    protected FontSize getFontSize(final Map<String, String> properties) {
+    protected FontSize getFontSize(final StyleDeclaration properties) {
 
-        final String value = properties.get(StyleProperty.FONT_SIZE);
+        final String value = properties.get(StyleDeclaration.FONT_SIZE);
         if ((value == null) || value.isEmpty()) {
             return FontSize.DEFAULT_SIZE;
         }
 
-        return new FontSize(value);
+        return StyleParser.FONT_SIZES.intern(new FontSize(value));
     }
 
-    protected FontStyle getFontStyle(final Map<String, String> properties) {
+    protected FontStyle getFontStyle(final StyleDeclaration properties) {
 
-        final String value = properties.get(StyleProperty.FONT_STYLE);
+        final String value = properties.get(StyleDeclaration.FONT_STYLE);
         if ((value == null) || value.isEmpty()) {
             return FontStyle.NORMAL;
         }
@@ -365,9 +477,9 @@ public class StyleParser {
         return FontStyle.valueOf(value.toUpperCase(Locale.US));
     }
 
-    protected Align getAlign(final Map<String, String> properties) {
+    protected Align getAlign(final StyleDeclaration properties) {
 
-        final String value = properties.get(StyleProperty.ALIGN);
+        final String value = properties.get(StyleDeclaration.ALIGN);
         if ((value == null) || value.isEmpty()) {
             return Align.LEFT;
         }
@@ -375,9 +487,9 @@ public class StyleParser {
         return Align.valueOf(value.toUpperCase(Locale.US));
     }
 
-    protected VerticalAlign getVerticalAlign(final Map<String, String> properties) {
+    protected VerticalAlign getVerticalAlign(final StyleDeclaration properties) {
 
-        final String value = properties.get(StyleProperty.VERTICAL_ALIGN);
+        final String value = properties.get(StyleDeclaration.VERTICAL_ALIGN);
         if ((value == null) || value.isEmpty()) {
             return VerticalAlign.TOP;
         }
@@ -385,9 +497,9 @@ public class StyleParser {
         return VerticalAlign.valueOf(value.toUpperCase(Locale.US));
     }
 
-    protected ChildLayout getChildLayout(final Map<String, String> properties) {
+    protected ChildLayout getChildLayout(final StyleDeclaration properties) {
 
-        final String value = properties.get(StyleProperty.CHILD_LAYOUT);
+        final String value = properties.get(StyleDeclaration.CHILD_LAYOUT);
         if ((value == null) || value.isEmpty()) {
             return ChildLayout.RIGHT;
         }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+/**
+ * Immutable statistics of one parsed style sheet
+ *
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class StyleSheetStatistics {
+
+    private final String name;
+
+    private final int styleCount;
+
+    private final long parseNanos;
+
+    public StyleSheetStatistics(final String name, final int styleCount, final long parseNanos) {
+        super();
+        this.name = name;
+        this.styleCount = styleCount;
+        this.parseNanos = parseNanos;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the number of styles in the sheet
+     */
+    public int getStyleCount() {
+        return this.styleCount;
+    }
+
+    /**
+     * @return the time spent reading and parsing the sheet in nanoseconds
+     */
+    public long getParseNanos() {
+        return this.parseNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "StyleSheetStatistics [name=" + this.name + ", styleCount=" + this.styleCount + ", parseNanos=" + this.parseNanos + "]";
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable view of all registered styles. Every change produces a new snapshot with a higher generation, so a reader holding a snapshot
+ * never sees a partially applied change.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public final class StyleSnapshot {
+
+    /** Snapshot without any styles */
+    public static final StyleSnapshot EMPTY = new StyleSnapshot(0, Collections.<String, Style> emptyMap(),
+            Collections.<String, StyleDeclaration> emptyMap(), Collections.<CompiledStyleSheet> emptyList());
+
+    private final long generation;
+
+    private final Map<String, Style> styles;
+
+    private final Map<String, StyleDeclaration> declarations;
+
+    private final List<CompiledStyleSheet> compiledStyleSheets;
+
+    private StyleSnapshot(final long generation, final Map<String, Style> styles, final Map<String, StyleDeclaration> declarations,
+            final List<CompiledStyleSheet> compiledStyleSheets) {
+        super();
+        this.generation = generation;
+        this.styles = styles;
+        this.declarations = declarations;
+        this.compiledStyleSheets = compiledStyleSheets;
+    }
+
+    /**
+     * Create the next snapshot with styles added, a style replaces any style with the same selector
+     *
+     * @param styles
+     *            the styles by selector
+     * @param declarations
+     *            the declared values by selector
+     * @return the new snapshot
+     */
+    public StyleSnapshot withStyles(final Map<String, Style> styles, final Map<String, StyleDeclaration> declarations) {
+        return this.withStyles(styles, declarations, Collections.<String> emptySet());
+    }
+
+    /**
+     * Create the next snapshot with styles replaced, used when a style sheet is loaded again
+     *
+     * @param styles
+     *            the styles by selector
+     * @param declarations
+     *            the declared values by selector
+     * @param removed
+     *            selectors no longer declared by the style sheet
+     * @return the new snapshot
+     */
+    public StyleSnapshot withStyles(final Map<String, Style> styles, final Map<String, StyleDeclaration> declarations,
+            final Set<String> removed) {
+        final Map<String, Style> newStyles = new HashMap<>(this.styles);
+        newStyles.keySet().removeAll(removed);
+        newStyles.putAll(styles);
+
+        final Map<String, StyleDeclaration> newDeclarations = new HashMap<>(this.declarations);
+        newDeclarations.keySet().removeAll(removed);
+        newDeclarations.putAll(declarations);
+
+        return new StyleSnapshot(this.generation + 1, Collections.unmodifiableMap(newStyles), Collections.unmodifiableMap(newDeclarations),
+                this.compiledStyleSheets);
+    }
+
+    /**
+     * Create the next snapshot with a style removed
+     *
+     * @param selector
+     *            the selector
+     * @return the new snapshot
+     */
+    public StyleSnapshot withoutStyle(final String selector) {
+        final Map<String, Style> newStyles = new HashMap<>(this.styles);
+        newStyles.remove(selector);
+
+        final Map<String, StyleDeclaration> newDeclarations = new HashMap<>(this.declarations);
+        newDeclarations.remove(selector);
+
+        return new StyleSnapshot(this.generation + 1, Collections.unmodifiableMap(newStyles), Collections.unmodifiableMap(newDeclarations),
+                this.compiledStyleSheets);
+    }
+
+    /**
+     * Create the next snapshot with a compiled style sheet added, it takes precedence over earlier compiled style sheets
+     *
+     * @param compiledStyleSheet
+     *            the compiled style sheet
+     * @return the new snapshot
+     */
+    public StyleSnapshot withCompiledStyleSheet(final CompiledStyleSheet compiledStyleSheet) {
+        final List<CompiledStyleSheet> newCompiledStyleSheets = new ArrayList<>(this.compiledStyleSheets.size() + 1);
+        newCompiledStyleSheets.add(compiledStyleSheet);
+        newCompiledStyleSheets.addAll(this.compiledStyleSheets);
+
+        return new StyleSnapshot(this.generation + 1, this.styles, this.declarations, Collections.unmodifiableList(newCompiledStyleSheets));
+    }
+
+    /**
+     * @return the generation, increased by one for every change
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Get a style, looking in text styles first and then in compiled style sheets
+     *
+     * @param id
+     *            the selector
+     * @return the style or null if there is no style for the selector
+     */
+    public Style getStyle(final String id) {
+        final Style style = this.styles.get(id);
+
+        if (style != null) {
+            return style;
+        }
+
+        for (final CompiledStyleSheet compiledStyleSheet : this.compiledStyleSheets) {
+            final Style compiled = compiledStyleSheet.getStyle(id);
+
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the declared values of a selector, looking in text styles first and then in compiled style sheets
+     *
+     * @param selector
+     *            the selector, see <code>StyleCascade</code>
+     * @return the declaration or null if the selector is not declared
+     */
+    public StyleDeclaration getDeclaration(final String selector) {
+        final StyleDeclaration declaration = this.declarations.get(selector);
+
+        if (declaration != null) {
+            return declaration;
+        }
+
+        for (final CompiledStyleSheet compiledStyleSheet : this.compiledStyleSheets) {
+            final StyleDeclaration compiled = compiledStyleSheet.getDeclaration(selector);
+
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Find the selectors declared differently in another snapshot
+     *
+     * @param previous
+     *            the snapshot to compare with
+     * @return the selectors that were added, removed or changed
+     */
+    public Set<String> getChangedSelectors(final StyleSnapshot previous) {
+        if (previous == null) {
+            throw new NullPointerException("Parameter previous is null");
+        }
+
+        final Set<String> candidates = new HashSet<>();
+
+        if (this.declarations != previous.declarations) {
+            candidates.addAll(this.declarations.keySet());
+            candidates.addAll(previous.declarations.keySet());
+        }
+
+        if (!this.compiledStyleSheets.equals(previous.compiledStyleSheets)) {
+            for (final CompiledStyleSheet compiledStyleSheet : this.compiledStyleSheets) {
+                candidates.addAll(compiledStyleSheet.getIds());
+            }
+
+            for (final CompiledStyleSheet compiledStyleSheet : previous.compiledStyleSheets) {
+                candidates.addAll(compiledStyleSheet.getIds());
+            }
+        }
+
+        final Set<String> changed = new HashSet<>();
+
+        for (final String selector : candidates) {
+            if (!Objects.equals(this.getDeclaration(selector), previous.getDeclaration(selector))) {
+                changed.add(selector);
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * @return the text styles by selector
+     */
+    public Map<String, Style> getStyles() {
+        return this.styles;
+    }
+
+    /**
+     * @return the compiled style sheets, highest priority first
+     */
+    public List<CompiledStyleSheet> getCompiledStyleSheets() {
+        return this.compiledStyleSheets;
+    }
+
+    @Override
+    public String toString() {
+        return "StyleSnapshot [generation=" + this.generation + ", styles=" + this.styles.size() + ", compiledStyleSheets="
+                + this.compiledStyleSheets.size() + "]";
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A named source of .ogs data.
+ *
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public interface StyleSource {
+
+    /**
+     * @return the name used in statistics and error messages
+     */
+    String getName();
+
+    /**
+     * Open the source, the caller closes the stream
+     *
+     * @return the .ogs data using UTF-8 encoding
+     * @throws IOException
+     */
+    InputStream open() throws IOException;
+
+    /**
+     * @param resource
+     *            the class path resource
+     * @return a source reading a class path resource
+     */
+    static StyleSource resource(final String resource) {
+        return new StyleSource() {
+            @Override
+            public String getName() {
+                return resource;
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                final InputStream inputStream = StyleSource.class.getResourceAsStream(resource);
+
+                if (inputStream == null) {
+                    throw new FileNotFoundException("No such resource: " + resource);
+                }
+
+                return inputStream;
+            }
+        };
+    }
+
+    /**
+     * @param path
+     *            the file
+     * @return a source reading a file
+     */
+    static StyleSource path(final Path path) {
+        return new StyleSource() {
+            @Override
+            public String getName() {
+                return path.toString();
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                return Files.newInputStream(path);
+            }
+        };
+    }
+
+    /**
+     * @param name
+     *            the name
+     * @param style
+     *            .ogs formatted data
+     * @return a source reading a string
+     */
+    static StyleSource text(final String name, final String style) {
+        return new StyleSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public InputStream open() {
+                return new ByteArrayInputStream(style.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+}
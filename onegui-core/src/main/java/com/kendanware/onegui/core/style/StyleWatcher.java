@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches style files for changes using a <code>WatchService</code>. The listener is called on the watcher thread once for every changed
+ * file, even if the file system reports several events for one save.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class StyleWatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StyleWatcher.class);
+
+    private final WatchService watchService;
+
+    private final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+
+    private final Set<Path> files = ConcurrentHashMap.newKeySet();
+
+    private final Consumer<Path> listener;
+
+    private final Thread thread;
+
+    /**
+     * Constructor, starts the watcher thread
+     *
+     * @param listener
+     *            called with the absolute path of a changed file
+     * @throws IOException
+     *             if the watch service could not be created
+     */
+    public StyleWatcher(final Consumer<Path> listener) throws IOException {
+        if (listener == null) {
+            throw new NullPointerException("Parameter listener is null");
+        }
+
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.thread = new Thread(this::run, "onegui-style-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Start watching a file
+     *
+     * @param file
+     *            the file
+     * @throws IOException
+     *             if the directory of the file could not be watched
+     */
+    public void watch(final Path file) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("Parameter file is null");
+        }
+
+        final Path absolute = file.toAbsolutePath().normalize();
+        final Path directory = absolute.getParent();
+
+        synchronized (this.directories) {
+            if (!this.directories.containsKey(directory)) {
+                this.directories.put(directory, directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY));
+            }
+        }
+
+        this.files.add(absolute);
+    }
+
+    /**
+     * Stop watching a file
+     *
+     * @param file
+     *            the file
+     */
+    public void unwatch(final Path file) {
+        this.files.remove(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * @param directory
+     *            the absolute directory
+     * @return true if the directory has a valid registration
+     */
+    boolean isWatching(final Path directory) {
+        return this.directories.containsKey(directory);
+    }
+
+    /**
+     * Collect the watched files changed by a batch of events of one directory. When events were lost every watched file of the directory
+     * is reported as changed.
+     *
+     * @param directory
+     *            the absolute directory
+     * @param events
+     *            the events
+     * @return the changed files
+     */
+    Set<Path> getChangedFiles(final Path directory, final List<WatchEvent<?>> events) {
+        final Set<Path> changed = new LinkedHashSet<>();
+
+        for (final WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                StyleWatcher.LOG.warn("Lost file events in {}, reloading every watched file of the directory", directory);
+
+                for (final Path file : this.files) {
+                    if (directory.equals(file.getParent())) {
+                        changed.add(file);
+                    }
+                }
+
+                continue;
+            }
+
+            final Path file = directory.resolve((Path) event.context());
+
+            if (this.files.contains(file)) {
+                changed.add(file);
+            }
+        }
+
+        return changed;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                final WatchKey watchKey = this.watchService.take();
+                final Path directory = (Path) watchKey.watchable();
+                final Set<Path> changed = this.getChangedFiles(directory, watchKey.pollEvents());
+
+                if (!watchKey.reset()) {
+                    // The directory is gone or inaccessible, forget it so a later watch registers it again
+                    this.directories.remove(directory, watchKey);
+                    StyleWatcher.LOG.debug("Stopped watching {}", directory);
+                }
+
+                for (final Path file : changed) {
+                    try {
+                        this.listener.accept(file);
+                    } catch (final RuntimeException e) {
+                        StyleWatcher.LOG.warn("Failed to handle change of {}", file, e);
+                    }
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            StyleWatcher.LOG.debug("Style watcher stopped");
+        }
+    }
+
+    /**
+     * Stop watching all files
+     */
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+}
@@ -163,6 +163,7 @@ public class ColorTest {
         final Color copy = (Color) objectInputStream.readObject();
 
         Assert.assertEquals(color, copy);
+        Assert.assertEquals(color.hashCode(), copy.hashCode());
         objectInputStream.close();
     }
 
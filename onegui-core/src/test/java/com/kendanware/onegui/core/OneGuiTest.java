@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kendanware.onegui.core.style.StyleSheetStatistics;
+import com.kendanware.onegui.core.style.StyleSource;
+
+public class OneGuiTest {
+
+    private OneGui oneGui;
+
+    @Before
+    public void before() {
+        this.oneGui = new OneGui();
+    }
+
+    @After
+    public void after() {
+        this.oneGui.shutdown();
+    }
+
+    @Test
+    public void testAddStylesInOrder() throws IOException {
+        final List<StyleSheetStatistics> statistics = this.oneGui.addStyles(Arrays.asList(StyleSource.resource("/example1.ogs"),
+                StyleSource.text("overlay1", "style1 { width: 1px; } style5 { width: 5px; }"),
+                StyleSource.text("overlay2", "style1 { width: 2px; }")));
+
+        Assert.assertEquals(3, statistics.size());
+        Assert.assertEquals("/example1.ogs", statistics.get(0).getName());
+        Assert.assertEquals(3, statistics.get(0).getStyleCount());
+        Assert.assertEquals("overlay2", statistics.get(2).getName());
+
+        Assert.assertEquals(new Dimension("2px"), this.oneGui.getStyle("style1").getWidth());
+        Assert.assertEquals(new Dimension("300px"), this.oneGui.getStyle("style2").getWidth());
+        Assert.assertEquals(new Dimension("5px"), this.oneGui.getStyle("style5").getWidth());
+    }
+
+    @Test
+    public void testAddStylesInvalid() throws IOException {
+        try {
+            this.oneGui.addStyles(Arrays.asList(StyleSource.text("valid", "style1 { width: 1px; }"),
+                    StyleSource.text("invalid", "style2 { unknown: 1px; }")));
+            Assert.fail();
+        } catch (final IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().startsWith("invalid: "));
+        }
+
+        Assert.assertNull(this.oneGui.getStyle("style1"));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kendanware.onegui.core.container.Panel;
+import com.kendanware.onegui.core.control.Label;
+
+public class ScreenTest {
+
+    private OneGui oneGui;
+
+    private Screen screen;
+
+    @Before
+    public void before() {
+        this.oneGui = new OneGui();
+        this.screen = new Screen(this.oneGui, "screen");
+    }
+
+    @After
+    public void after() {
+        this.oneGui.shutdown();
+    }
+
+    @Test
+    public void testFindById() {
+        final Panel panel = new Panel(this.screen, "panel");
+        final Label label = new Label(panel, "label");
+
+        Assert.assertSame(this.screen, this.screen.findById("screen"));
+        Assert.assertSame(panel, this.screen.findById("panel"));
+        Assert.assertSame(label, this.screen.findById("label"));
+        Assert.assertNull(this.screen.findById("unknown"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateId() {
+        final Panel panel = new Panel(this.screen, "panel");
+        new Label(panel, "label");
+        new Label(this.screen, "label");
+    }
+
+    @Test
+    public void testRemove() {
+        final Panel panel = new Panel(this.screen, "panel");
+        new Label(panel, "label");
+
+        this.screen.removeComponent(panel);
+
+        Assert.assertNull(this.screen.findById("panel"));
+        Assert.assertNull(this.screen.findById("label"));
+
+        // The ids can be used again
+        new Label(new Panel(this.screen, "panel"), "label");
+        Assert.assertNotNull(this.screen.findById("label"));
+    }
+
+    @Test
+    public void testSlots() {
+        final Panel panel = new Panel(this.screen, "panel");
+        final Label label = new Label(panel, "label");
+
+        Assert.assertEquals(0, this.screen.getSlot());
+        Assert.assertEquals(1, panel.getSlot());
+        Assert.assertEquals(2, label.getSlot());
+        Assert.assertSame(label, this.screen.getComponent(2));
+        Assert.assertEquals(3, this.screen.getSlotCount());
+
+        this.screen.removeComponent(panel);
+
+        Assert.assertEquals(-1, label.getSlot());
+        Assert.assertNull(this.screen.getComponent(2));
+
+        // Freed slots are reused before the slots grow
+        final Label other = new Label(this.screen, "other");
+        Assert.assertTrue(other.getSlot() == 1 || other.getSlot() == 2);
+        Assert.assertEquals(3, this.screen.getSlotCount());
+    }
+
+    @Test
+    public void testLargeScreen() {
+        for (int p = 0; p < 200; p++) {
+            final Panel panel = new Panel(this.screen, "panel" + p);
+
+            for (int l = 0; l < 100; l++) {
+                new Label(panel, "label" + p + "_" + l);
+            }
+        }
+
+        Assert.assertNotNull(this.screen.findById("label199_99"));
+        Assert.assertEquals(100, ((Container) this.screen.findById("panel199")).getChildren().size());
+    }
+}
@@ -31,6 +31,15 @@ package com.kendanware.onegui.core.assets;
 import static org.junit.Assert.*;
 
 import java.awt.Font;
+import java.awt.FontFormatException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -38,6 +47,8 @@ import com.kendanware.onegui.core.FontStyle;
 
 public class FontResourceFactoryTest extends FontResourceFactory {
 
+    private final AtomicInteger createCount = new AtomicInteger();
+
     @Test
     public void testGetFont() {
         Font font = getFont("/Tuffy.ttf", 20, FontStyle.NORMAL);
@@ -46,4 +57,35 @@ public class FontResourceFactoryTest extends FontResourceFactory {
         assertEquals("Tuffy Regular", font.getFontName());
     }
 
+    @Test
+    public void testParseOnce() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Callable<Font>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                final int size = 10 + (i % 4);
+                final FontStyle style = (i % 2) == 0 ? FontStyle.NORMAL : FontStyle.BOLD;
+                tasks.add(() -> getFont("/Tuffy.ttf", size, style));
+            }
+
+            for (final Future<Font> future : executorService.invokeAll(tasks)) {
+                assertNotNull(future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertEquals(1, this.createCount.get());
+        assertEquals(1, getParseCount());
+        assertTrue(getParseNanos() > 0);
+        assertSame(getFont("/Tuffy.ttf", 10, FontStyle.NORMAL), getFont("/Tuffy.ttf", 10, FontStyle.NORMAL));
+    }
+
+    @Override
+    protected Font createFont(final String resource) throws IOException, FontFormatException {
+        this.createCount.incrementAndGet();
+        return super.createFont(resource);
+    }
+
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.kendanware.onegui.core.FontStyle;
+
+public class GlyphAtlasTest {
+
+    private final Font font = new FontResourceFactory().getFont("/Tuffy.ttf", 20, FontStyle.NORMAL);
+
+    @Test
+    public void testIsSupported() {
+        final GlyphAtlas glyphAtlas = new GlyphAtlas(this.font, true);
+
+        assertTrue(glyphAtlas.isSupported("Hello, World! 12:34"));
+        assertFalse(glyphAtlas.isSupported("שלום"));
+        assertFalse(glyphAtlas.isSupported("مرحبا"));
+        assertFalse(glyphAtlas.isSupported("é"));
+        assertFalse(glyphAtlas.isSupported("😀"));
+    }
+
+    @Test
+    public void testGlyphsRasterizedOnce() {
+        final GlyphAtlas glyphAtlas = new GlyphAtlas(this.font, true);
+        final BufferedImage bufferedImage = new BufferedImage(200, 40, BufferedImage.TYPE_4BYTE_ABGR);
+        final Graphics2D graphics = bufferedImage.createGraphics();
+
+        try {
+            glyphAtlas.drawString(graphics, "abba", Color.BLACK, 0, 30);
+            assertEquals(2, glyphAtlas.getGlyphCount());
+
+            glyphAtlas.drawString(graphics, "baab", Color.BLACK, 0, 30);
+            assertEquals(2, glyphAtlas.getGlyphCount());
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    @Test
+    public void testMatchesDrawString() {
+        final String text = "Settings 12:34";
+        final GlyphAtlas glyphAtlas = new GlyphAtlas(this.font, true);
+
+        final BufferedImage expected = new BufferedImage(200, 40, BufferedImage.TYPE_4BYTE_ABGR);
+        final Graphics2D expectedGraphics = expected.createGraphics();
+        try {
+            expectedGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            expectedGraphics.setFont(this.font);
+            expectedGraphics.setColor(Color.BLACK);
+            expectedGraphics.drawString(text, 5, 30);
+        } finally {
+            expectedGraphics.dispose();
+        }
+
+        final BufferedImage actual = new BufferedImage(200, 40, BufferedImage.TYPE_4BYTE_ABGR);
+        final Graphics2D actualGraphics = actual.createGraphics();
+        try {
+            glyphAtlas.drawString(actualGraphics, text, Color.BLACK, 5, 30);
+        } finally {
+            actualGraphics.dispose();
+        }
+
+        final Rectangle expectedBounds = GlyphAtlasTest.bounds(expected);
+        final Rectangle actualBounds = GlyphAtlasTest.bounds(actual);
+
+        assertEquals(expectedBounds.x, actualBounds.x, 1);
+        assertEquals(expectedBounds.y, actualBounds.y, 1);
+        assertEquals(expectedBounds.width, actualBounds.width, 2);
+        assertEquals(expectedBounds.height, actualBounds.height, 1);
+    }
+
+    @Test
+    public void testColorsShareGlyphs() {
+        final GlyphAtlasFactory glyphAtlasFactory = new GlyphAtlasFactory();
+        final GlyphAtlas glyphAtlas = glyphAtlasFactory.getGlyphAtlas(this.font, "/Tuffy.ttf", 20, FontStyle.NORMAL, true);
+
+        assertSame(glyphAtlas, glyphAtlasFactory.getGlyphAtlas(this.font, "/Tuffy.ttf", 20, FontStyle.NORMAL, true));
+        assertEquals(1, glyphAtlasFactory.size());
+
+        final BufferedImage red = new BufferedImage(40, 40, BufferedImage.TYPE_4BYTE_ABGR);
+        final Graphics2D redGraphics = red.createGraphics();
+        try {
+            glyphAtlas.drawString(redGraphics, "H", Color.RED, 5, 30);
+        } finally {
+            redGraphics.dispose();
+        }
+
+        final BufferedImage blue = new BufferedImage(40, 40, BufferedImage.TYPE_4BYTE_ABGR);
+        final Graphics2D blueGraphics = blue.createGraphics();
+        try {
+            glyphAtlas.drawString(blueGraphics, "H", Color.BLUE, 5, 30);
+        } finally {
+            blueGraphics.dispose();
+        }
+
+        assertEquals(1, glyphAtlas.getGlyphCount());
+        assertEquals(GlyphAtlasTest.bounds(red), GlyphAtlasTest.bounds(blue));
+
+        for (int y = 0; y < red.getHeight(); y++) {
+            for (int x = 0; x < red.getWidth(); x++) {
+                assertEquals(red.getRGB(x, y) >>> 24, blue.getRGB(x, y) >>> 24);
+
+                if ((red.getRGB(x, y) >>> 24) == 0xff) {
+                    assertEquals(0xffff0000, red.getRGB(x, y));
+                    assertEquals(0xff0000ff, blue.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTintsAreBounded() {
+        final GlyphAtlas glyphAtlas = new GlyphAtlas(this.font, true);
+        final BufferedImage bufferedImage = new BufferedImage(40, 40, BufferedImage.TYPE_4BYTE_ABGR);
+        final Graphics2D graphics = bufferedImage.createGraphics();
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                glyphAtlas.drawString(graphics, "a", new Color(i, 0, 0), 0, 30);
+            }
+        } finally {
+            graphics.dispose();
+        }
+
+        assertTrue(glyphAtlas.getTintCount() <= 8);
+        assertEquals(1, glyphAtlas.getGlyphCount());
+    }
+
+    private static Rectangle bounds(final BufferedImage bufferedImage) {
+        Rectangle bounds = null;
+
+        for (int y = 0; y < bufferedImage.getHeight(); y++) {
+            for (int x = 0; x < bufferedImage.getWidth(); x++) {
+                if ((bufferedImage.getRGB(x, y) >>> 24) != 0) {
+                    final Rectangle pixel = new Rectangle(x, y, 1, 1);
+                    bounds = bounds == null ? pixel : bounds.union(pixel);
+                }
+            }
+        }
+
+        return bounds;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class ImageCacheTest {
+
+    private static final long IMAGE_BYTES = 10 * 10 * 4;
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        final ImageCache imageCache = new ImageCache(ImageCacheTest.IMAGE_BYTES * 2);
+        final ImageResourceKey first = new ImageResourceKey("/first.png", 10, 10);
+        final ImageResourceKey second = new ImageResourceKey("/second.png", 10, 10);
+        final ImageResourceKey third = new ImageResourceKey("/third.png", 10, 10);
+
+        imageCache.put(first, ImageCacheTest.createImage());
+        imageCache.put(second, ImageCacheTest.createImage());
+        assertNotNull(imageCache.get(first));
+
+        imageCache.put(third, ImageCacheTest.createImage());
+
+        assertNotNull(imageCache.get(first));
+        assertNull(imageCache.get(second));
+        assertNotNull(imageCache.get(third));
+
+        final ImageCacheStatistics statistics = imageCache.getStatistics();
+        assertEquals(3, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(2, statistics.getSize());
+        assertEquals(ImageCacheTest.IMAGE_BYTES * 2, statistics.getBytes());
+    }
+
+    @Test
+    public void testImageLargerThanBudget() {
+        final ImageCache imageCache = new ImageCache(ImageCacheTest.IMAGE_BYTES - 1);
+        final ImageResourceKey key = new ImageResourceKey("/image.png", 10, 10);
+
+        imageCache.put(key, ImageCacheTest.createImage());
+
+        assertNull(imageCache.get(key));
+        assertEquals(0, imageCache.getStatistics().getBytes());
+    }
+
+    @Test
+    public void testReplace() {
+        final ImageCache imageCache = new ImageCache(ImageCacheTest.IMAGE_BYTES);
+        final ImageResourceKey key = new ImageResourceKey("/image.png", 10, 10);
+
+        imageCache.put(key, ImageCacheTest.createImage());
+        imageCache.put(key, ImageCacheTest.createImage());
+
+        assertEquals(ImageCacheTest.IMAGE_BYTES, imageCache.getStatistics().getBytes());
+        assertEquals(0, imageCache.getStatistics().getEvictionCount());
+    }
+
+    private static BufferedImage createImage() {
+        return new BufferedImage(10, 10, BufferedImage.TYPE_4BYTE_ABGR);
+    }
+}
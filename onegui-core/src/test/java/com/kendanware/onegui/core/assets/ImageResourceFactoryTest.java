@@ -29,9 +29,19 @@
 package com.kendanware.onegui.core.assets;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -39,6 +49,12 @@ import com.kendanware.onegui.core.GraphicsSettings;
 
 public class ImageResourceFactoryTest extends ImageResourceFactory {
 
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
     public ImageResourceFactoryTest() {
         super(new GraphicsSettings());
 
@@ -53,4 +69,106 @@ public class ImageResourceFactoryTest extends ImageResourceFactory {
         assertEquals(768, resized.getHeight());
     }
 
+    @Test
+    public void testDecodeOnce() throws IOException {
+        getImage("/image1.jpg", 1024, 768);
+        getImage("/image1.jpg", 800, 600);
+        getImage("/image1.jpg", 4272, 2848);
+
+        assertEquals(1, this.loadCount.get());
+    }
+
+    @Test
+    public void testMipmapLevel() throws IOException {
+        final MipmapChain source = getSource("/image1.jpg");
+        final BufferedImage level = source.getLevel(this, 1000, 700);
+
+        assertEquals(1068, level.getWidth());
+        assertEquals(712, level.getHeight());
+        assertEquals(3, source.getLevelCount());
+        assertSame(source.getOriginal(), source.getLevel(this, 3000, 2000));
+    }
+
+    @Test
+    public void testConcurrentDecodeOnce() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<MipmapChain>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> getSource("/slow.jpg")));
+            }
+
+            assertEquals(true, this.slowStarted.await(10, TimeUnit.SECONDS));
+            this.slowRelease.countDown();
+
+            final MipmapChain source = futures.get(0).get(10, TimeUnit.SECONDS);
+
+            for (final Future<MipmapChain> future : futures) {
+                assertSame(source, future.get(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, this.loadCount.get());
+        } finally {
+            this.slowRelease.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSlowDecodeDoesNotBlockOthers() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            final Future<MipmapChain> slow = executorService.submit(() -> getSource("/slow.jpg"));
+
+            assertEquals(true, this.slowStarted.await(10, TimeUnit.SECONDS));
+
+            // Would time out if the slow decode held a lock on the whole factory
+            executorService.submit(() -> getSource("/image1.jpg")).get(10, TimeUnit.SECONDS);
+
+            this.slowRelease.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+
+            assertEquals(2, this.loadCount.get());
+        } finally {
+            this.slowRelease.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedDecodeIsRetried() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                getSource("/missing.jpg");
+                fail("Expected decoding to fail");
+            } catch (final IOException | RuntimeException e) {
+                // Expected
+            }
+        }
+
+        assertEquals(2, this.loadCount.get());
+    }
+
+    @Override
+    BufferedImage loadImage(final String resource) throws IOException {
+        this.loadCount.incrementAndGet();
+
+        if ("/slow.jpg".equals(resource)) {
+            this.slowStarted.countDown();
+
+            try {
+                this.slowRelease.await();
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+
+            return super.loadImage("/image1.jpg");
+        }
+
+        return super.loadImage(resource);
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.kendanware.onegui.core.FontStyle;
+
+public class TextMetricsCacheTest {
+
+    private final Font font = new FontResourceFactory().getFont("/Tuffy.ttf", 16, FontStyle.NORMAL);
+
+    @Test
+    public void testMatchesGraphics() {
+        final TextMetricsCache textMetricsCache = new TextMetricsCache();
+        final TextMetrics textMetrics = textMetricsCache.getTextMetrics(this.font, "/Tuffy.ttf", 16, FontStyle.NORMAL, true, "Settings");
+
+        final Graphics2D graphics = new BufferedImage(10, 10, BufferedImage.TYPE_4BYTE_ABGR).createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setFont(this.font);
+            final FontMetrics fontMetrics = graphics.getFontMetrics();
+
+            assertEquals(fontMetrics.stringWidth("Settings"), textMetrics.getWidth());
+            assertEquals(fontMetrics.getHeight(), textMetrics.getHeight());
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    @Test
+    public void testBounded() {
+        final TextMetricsCache textMetricsCache = new TextMetricsCache(2);
+
+        final TextMetrics first = textMetricsCache.getTextMetrics(this.font, "/Tuffy.ttf", 16, FontStyle.NORMAL, true, "first");
+        assertSame(first, textMetricsCache.getTextMetrics(this.font, "/Tuffy.ttf", 16, FontStyle.NORMAL, true, "first"));
+
+        textMetricsCache.getTextMetrics(this.font, "/Tuffy.ttf", 16, FontStyle.NORMAL, true, "second");
+        textMetricsCache.getTextMetrics(this.font, "/Tuffy.ttf", 16, FontStyle.NORMAL, true, "third");
+
+        assertEquals(2, textMetricsCache.size());
+        assertEquals(1, textMetricsCache.getHitCount());
+        assertEquals(3, textMetricsCache.getMissCount());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.container.Panel;
+import com.kendanware.onegui.core.control.Label;
+
+public class AsyncFrameProducerTest {
+
+    private static final String STYLES = "screen { backgroundColor: white; childLayout: down; }"
+            + "panel { height: 50%; backgroundColor: #ff00007f; paddingLeft: 10px; paddingTop: 10px; childLayout: down; }"
+            + "clock { width: 100px; height: 20px; color: black; font: \"/Tuffy.ttf\"; fontSize: 16px; }";
+
+    private OneGui oneGui;
+
+    private Screen screen;
+
+    private Label clock;
+
+    private AsyncFrameProducer asyncFrameProducer;
+
+    @Before
+    public void before() throws IOException {
+        this.oneGui = new OneGui();
+        this.oneGui.addStyles(AsyncFrameProducerTest.STYLES);
+
+        this.screen = new Screen(this.oneGui, "screen");
+        this.clock = new Label(new Panel(this.screen, "panel"), "clock", "00:00");
+
+        this.asyncFrameProducer = new AsyncFrameProducer(new OneGuiRenderer(this.screen, 200, 100));
+    }
+
+    @After
+    public void after() {
+        this.asyncFrameProducer.close();
+        this.oneGui.shutdown();
+    }
+
+    @Test
+    public void testFrames() throws InterruptedException {
+        Assert.assertNull(this.asyncFrameProducer.getFrame());
+
+        this.asyncFrameProducer.requestFrame(1);
+        this.awaitFrameCount(1);
+
+        final AsyncFrameProducer.Frame frame = this.asyncFrameProducer.getFrame();
+        Assert.assertEquals(1, frame.getNumber());
+        Assert.assertTrue(frame.getLatency() > 0);
+
+        final OneGuiRenderer oneGuiRenderer = new OneGuiRenderer(this.screen, 200, 100);
+        oneGuiRenderer.update(1);
+        final BufferedImage expected = oneGuiRenderer.generateImage();
+
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Assert.assertEquals(expected.getRGB(x, y), frame.getImage().getRGB(x, y));
+            }
+        }
+
+        // Picked up already, nothing newer
+        Assert.assertSame(frame, this.asyncFrameProducer.getFrame());
+        Assert.assertEquals(0, this.asyncFrameProducer.getDroppedFrameCount());
+    }
+
+    @Test
+    public void testDroppedFrames() throws InterruptedException {
+        this.asyncFrameProducer.requestFrame(1);
+        this.awaitFrameCount(1);
+        this.asyncFrameProducer.getFrame();
+
+        this.clock.setText("00:01");
+        this.asyncFrameProducer.requestFrame(1);
+        this.awaitFrameCount(2);
+
+        this.clock.setText("00:02");
+        this.asyncFrameProducer.requestFrame(1);
+        this.awaitFrameCount(3);
+
+        // Frame two was never picked up
+        Assert.assertEquals(1, this.asyncFrameProducer.getDroppedFrameCount());
+        Assert.assertEquals(3, this.asyncFrameProducer.getFrame().getNumber());
+        Assert.assertEquals(this.asyncFrameProducer.getFrame().getLatency(), this.asyncFrameProducer.getLatency());
+    }
+
+    private void awaitFrameCount(final long frameCount) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+
+        while (this.asyncFrameProducer.getFrameCount() < frameCount) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}
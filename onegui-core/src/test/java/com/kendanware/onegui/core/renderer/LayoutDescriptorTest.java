@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kendanware.onegui.core.style.Style;
+import com.kendanware.onegui.core.style.StyleParser;
+
+public class LayoutDescriptorTest {
+
+    private Map<String, Style> styles;
+
+    @Before
+    public void before() throws IOException {
+        try (InputStream inputStream = this.getClass().getResourceAsStream("/screen-renderer-test1.ogs")) {
+            this.styles = new StyleParser().parseStyle(inputStream);
+        }
+    }
+
+    @Test
+    public void testSameAsRendererMath() throws Exception {
+        Assert.assertFalse(this.styles.isEmpty());
+
+        for (final Style style : this.styles.values()) {
+            final LayoutDescriptor layoutDescriptor = LayoutDescriptor.compile(style);
+
+            for (final float[] size : new float[][] { { 200f, 100f }, { 10f, 500f }, { 0f, 0f } }) {
+                final float width = size[0];
+                final float height = size[1];
+
+                assertSame(() -> RendererMath.getWidth(style, width, height), () -> layoutDescriptor.getWidth(width, height));
+                assertSame(() -> RendererMath.getHeight(style, width, height), () -> layoutDescriptor.getHeight(width, height));
+                assertSame(() -> RendererMath.getMarginPaddingWidth(style, style.getMarginLeft(), width, height),
+                        () -> layoutDescriptor.marginLeft.evaluate(width, height));
+                assertSame(() -> RendererMath.getMarginPaddingWidth(style, style.getMarginTop(), width, height),
+                        () -> layoutDescriptor.marginTop.evaluate(width, height));
+                assertSame(() -> RendererMath.getMarginPaddingHeight(style, style.getPaddingBottom(), width, height),
+                        () -> layoutDescriptor.paddingBottom.evaluate(width, height));
+            }
+        }
+    }
+
+    @Test
+    public void testCachedBySlot() {
+        final LayoutStore layoutStore = new LayoutStore();
+        final Style style = this.styles.get("panelPercent");
+
+        final LayoutDescriptor layoutDescriptor = layoutStore.getLayoutDescriptor(4, style);
+        Assert.assertSame(layoutDescriptor, layoutStore.getLayoutDescriptor(4, style));
+        Assert.assertSame(style, layoutDescriptor.getStyle());
+
+        // Bound to another style
+        Assert.assertNotSame(layoutDescriptor, layoutStore.getLayoutDescriptor(4, this.styles.get("panelPixel")));
+    }
+
+    private static void assertSame(final Callable<Float> expected, final Callable<Float> actual) throws Exception {
+        Float expectedValue;
+        try {
+            expectedValue = expected.call();
+        } catch (final IllegalArgumentException e) {
+            expectedValue = null;
+        }
+
+        Float actualValue;
+        try {
+            actualValue = actual.call();
+        } catch (final IllegalArgumentException e) {
+            actualValue = null;
+        }
+
+        Assert.assertEquals(expectedValue, actualValue);
+    }
+}
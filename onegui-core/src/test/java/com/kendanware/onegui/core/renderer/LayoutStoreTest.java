@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LayoutStoreTest {
+
+    @Test
+    public void testSet() {
+        final LayoutStore layoutStore = new LayoutStore();
+
+        Assert.assertFalse(layoutStore.contains(3));
+        Assert.assertNull(layoutStore.get(3));
+
+        Assert.assertTrue(layoutStore.set(3, 1.0f, 2.0f, 30.0f, 40.0f, true));
+        Assert.assertFalse(layoutStore.set(3, 1.0f, 2.0f, 30.0f, 40.0f, true));
+        Assert.assertTrue(layoutStore.contains(3));
+        Assert.assertEquals(30.0f, layoutStore.getWidth(3), 0.0f);
+        Assert.assertEquals(1, layoutStore.size());
+
+        final ComponentInfo componentInfo = layoutStore.get(3);
+        Assert.assertEquals(new ComponentInfo(1.0f, 2.0f, 30.0f, 40.0f, true), componentInfo);
+        Assert.assertSame(componentInfo, layoutStore.get(3));
+
+        Assert.assertTrue(layoutStore.set(3, 1.0f, 2.0f, 30.0f, 40.0f, false));
+        Assert.assertNotSame(componentInfo, layoutStore.get(3));
+        Assert.assertFalse(layoutStore.get(3).isVisible());
+    }
+
+    @Test
+    public void testGrowAndRemove() {
+        final LayoutStore layoutStore = new LayoutStore();
+
+        for (int slot = 0; slot < 1000; slot++) {
+            layoutStore.set(slot, slot, 0.0f, 10.0f, 10.0f, true);
+        }
+
+        Assert.assertEquals(1000, layoutStore.size());
+        Assert.assertEquals(999.0f, layoutStore.getX(999), 0.0f);
+
+        layoutStore.remove(999);
+        Assert.assertFalse(layoutStore.contains(999));
+        Assert.assertTrue(layoutStore.set(999, 999.0f, 0.0f, 10.0f, 10.0f, true));
+
+        layoutStore.clear();
+        Assert.assertEquals(0, layoutStore.size());
+    }
+}
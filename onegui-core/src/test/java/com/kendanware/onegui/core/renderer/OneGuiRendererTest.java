@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.kendanware.onegui.core.Color;
+import com.kendanware.onegui.core.Dimension;
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.container.Panel;
+import com.kendanware.onegui.core.control.Label;
+import com.kendanware.onegui.core.style.Style;
+
+public class OneGuiRendererTest {
+
+    private static final String STYLES = "screen { backgroundColor: white; childLayout: down; }"
+            + "panel { height: 50%; backgroundColor: #ff00007f; paddingLeft: 10px; paddingTop: 10px; childLayout: down; }"
+            + "clock, title { width: 100px; height: 20px; color: black; font: \"/Tuffy.ttf\"; fontSize: 16px; }";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private OneGui oneGui;
+
+    private Label clock;
+
+    private OneGuiRenderer oneGuiRenderer;
+
+    @Before
+    public void before() throws IOException {
+        this.oneGui = new OneGui();
+        this.oneGui.addStyles(OneGuiRendererTest.STYLES);
+
+        final Screen screen = new Screen(this.oneGui, "screen");
+        final Panel panel = new Panel(screen, "panel");
+        new Label(panel, "title", "Title");
+        this.clock = new Label(panel, "clock", "00:00");
+
+        this.oneGuiRenderer = new OneGuiRenderer(screen, 200, 100);
+    }
+
+    @After
+    public void after() {
+        this.oneGui.shutdown();
+    }
+
+    @Test
+    public void testDamageTracking() {
+        this.oneGuiRenderer.setDamageTracking(true);
+        this.oneGuiRenderer.update(1);
+
+        final BufferedImage first = this.oneGuiRenderer.generateImage();
+        Assert.assertEquals(new Rectangle(0, 0, 200, 100), this.oneGuiRenderer.getDirtyRegions().get(0));
+
+        this.oneGuiRenderer.update(1);
+        Assert.assertSame(first, this.oneGuiRenderer.generateImage());
+        Assert.assertTrue(this.oneGuiRenderer.getDirtyRegions().isEmpty());
+
+        this.clock.setText("00:01");
+        this.oneGuiRenderer.update(1);
+        this.oneGuiRenderer.generateImage();
+
+        final List<Rectangle> dirtyRegions = this.oneGuiRenderer.getDirtyRegions();
+        Assert.assertEquals(1, dirtyRegions.size());
+        Assert.assertEquals(new Rectangle(10, 30, 100, 20), dirtyRegions.get(0));
+    }
+
+    @Test
+    public void testDamageTrackingMatchesFullRender() {
+        this.oneGuiRenderer.update(1);
+        this.clock.setText("12:34");
+        final BufferedImage expected = copy(this.oneGuiRenderer.generateImage());
+
+        this.clock.setText("00:00");
+        this.oneGuiRenderer.setDamageTracking(true);
+        this.oneGuiRenderer.generateImage();
+        this.clock.setText("12:34");
+        final BufferedImage actual = this.oneGuiRenderer.generateImage();
+
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertSimilar(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testReusedSlot() {
+        this.oneGuiRenderer.update(1);
+
+        final Panel panel = (Panel) this.clock.getParent();
+        final int slot = this.clock.getSlot();
+        Assert.assertNotNull(this.oneGuiRenderer.getComponentInfo(this.clock));
+
+        panel.removeComponent(this.clock);
+        final Label other = new Label(panel, "other", "Other");
+        other.setStyle(this.oneGui.getStyle("clock"));
+        Assert.assertEquals(slot, other.getSlot());
+
+        // The layout of the removed component is not handed to the new one
+        Assert.assertNull(this.oneGuiRenderer.getComponentInfo(other));
+        Assert.assertFalse(this.oneGuiRenderer.getComponentInfos().containsKey("other"));
+        Assert.assertEquals(3, this.oneGuiRenderer.getComponentInfos().size());
+
+        this.oneGuiRenderer.update(1);
+
+        Assert.assertEquals(30.0f, this.oneGuiRenderer.getComponentInfo(other).getY(), 0.0f);
+        Assert.assertEquals(4, this.oneGuiRenderer.getComponentInfos().size());
+    }
+
+    @Test
+    public void testFailedRenderIsNotCached() throws IOException {
+        this.oneGuiRenderer.update(1);
+        final BufferedImage expected = copy(this.oneGuiRenderer.generateImage());
+        final Style style = this.clock.getStyle();
+
+        this.oneGui.addStyles("broken { width: 100px; height: 20px; backgroundImage: \"/missing.png\"; }");
+        this.clock.setStyle(this.oneGui.getStyle("broken"));
+        this.oneGuiRenderer.update(1);
+
+        try {
+            this.oneGuiRenderer.generateImage();
+            Assert.fail();
+        } catch (final RuntimeException e) {
+        }
+
+        Assert.assertNull(this.oneGuiRenderer.getRenderedImages().get("clock"));
+
+        // Back to the state rendered before, the image is drawn again instead of serving the cleared surface
+        this.clock.setStyle(style);
+        this.oneGuiRenderer.update(1);
+        final BufferedImage actual = this.oneGuiRenderer.generateImage();
+
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testSurfaceReuse() {
+        this.oneGuiRenderer.update(1);
+        this.oneGuiRenderer.generateImage();
+
+        final SurfacePool surfacePool = this.oneGuiRenderer.getSurfacePool();
+        final long allocations = surfacePool.getAllocationCount();
+        Assert.assertEquals(4, allocations);
+
+        for (int i = 0; i < 10; i++) {
+            this.clock.setText("00:1" + i);
+            this.oneGuiRenderer.update(1);
+            this.oneGuiRenderer.generateImage();
+        }
+
+        Assert.assertEquals(allocations, surfacePool.getAllocationCount());
+        Assert.assertEquals(30, surfacePool.getReuseCount());
+    }
+
+    @Test
+    public void testIncrementalLayout() {
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(2, this.oneGuiRenderer.getLayoutPasses());
+
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(0, this.oneGuiRenderer.getLayoutPasses());
+
+        this.clock.setText("00:00");
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(0, this.oneGuiRenderer.getLayoutPasses());
+
+        this.clock.setText("00:01");
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(2, this.oneGuiRenderer.getLayoutPasses());
+        Assert.assertTrue(this.oneGuiRenderer.getLayoutStore().isValid(this.clock));
+    }
+
+    @Test
+    public void testLayoutPerRenderer() throws IOException {
+        final OneGuiRenderer other = new OneGuiRenderer(this.oneGuiRenderer.getScreen(), 200, 100);
+        this.oneGuiRenderer.update(1);
+        other.update(1);
+
+        this.oneGui.addStyles("clock { width: 50px; }");
+        this.oneGuiRenderer.update(1);
+        other.update(1);
+
+        Assert.assertEquals(50.0f, this.oneGuiRenderer.getComponentInfo(this.clock).getWidth(), 0.0f);
+        Assert.assertEquals(50.0f, other.getComponentInfo(this.clock).getWidth(), 0.0f);
+
+        this.clock.setText("00:01");
+        other.update(1);
+        Assert.assertEquals(2, other.getLayoutPasses());
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(2, this.oneGuiRenderer.getLayoutPasses());
+    }
+
+    @Test
+    public void testFailedLayoutIsRetried() {
+        final AtomicInteger failures = new AtomicInteger(1);
+        final Label failing = new Label((Panel) this.clock.getParent(), "failing", "Failing") {
+            @Override
+            public Style getStyle() {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Failing style");
+                }
+
+                return this.getOneGui().getStyle("clock");
+            }
+        };
+
+        try {
+            this.oneGuiRenderer.update(1);
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+        }
+
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(2, this.oneGuiRenderer.getLayoutPasses());
+        Assert.assertEquals(50.0f, this.oneGuiRenderer.getComponentInfo(failing).getY(), 0.0f);
+    }
+
+    @Test
+    public void testStyleSnapshot() throws IOException {
+        this.oneGuiRenderer.update(1);
+        final long generation = this.oneGuiRenderer.getStyleGeneration();
+        Assert.assertEquals(this.oneGui.getStyleGeneration(), generation);
+
+        // Styles added after the layout pass are not seen until the next frame
+        this.oneGui.addStyles("clock { width: 50px; }");
+        Assert.assertEquals(new Dimension("100px"), this.clock.getStyle().getWidth());
+
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(generation + 1, this.oneGuiRenderer.getStyleGeneration());
+        Assert.assertEquals(new Dimension("50px"), this.clock.getStyle().getWidth());
+        Assert.assertEquals(50.0f, this.oneGuiRenderer.getComponentInfos().get("clock").getWidth(), 0.0f);
+
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(0, this.oneGuiRenderer.getLayoutPasses());
+    }
+
+    @Test
+    public void testStyleSnapshotPerRenderer() throws IOException {
+        final OneGuiRenderer other = new OneGuiRenderer(this.oneGuiRenderer.getScreen(), 200, 100);
+        this.oneGuiRenderer.update(1);
+        this.oneGuiRenderer.generateImage();
+        other.update(1);
+        other.generateImage();
+        Assert.assertNotNull(other.getRenderedImages().get("clock"));
+
+        // The second renderer learns about the change although the first pinned the snapshot
+        this.oneGui.addStyles(OneGuiRendererTest.clockStyle("red"));
+        this.oneGuiRenderer.update(1);
+        other.update(1);
+
+        Assert.assertNull(this.oneGuiRenderer.getRenderedImages().get("clock"));
+        Assert.assertNull(other.getRenderedImages().get("clock"));
+        Assert.assertNotNull(other.getRenderedImages().get("title"));
+        Assert.assertEquals(this.oneGuiRenderer.getStyleGeneration(), other.getStyleGeneration());
+    }
+
+    @Test
+    public void testReloadStyles() throws IOException {
+        final File file = this.temporaryFolder.newFile("reload.ogs");
+        Files.write(file.toPath(), OneGuiRendererTest.clockStyle("black").getBytes(StandardCharsets.UTF_8));
+        this.oneGui.reloadStyles(file.toPath());
+
+        this.oneGuiRenderer.update(1);
+        this.oneGuiRenderer.generateImage();
+        Assert.assertNotNull(this.oneGuiRenderer.getRenderedImages().get("title"));
+        Assert.assertNotNull(this.oneGuiRenderer.getRenderedImages().get("clock"));
+
+        // Same values written differently, nothing to invalidate
+        Files.write(file.toPath(), OneGuiRendererTest.clockStyle("#000000ff").getBytes(StandardCharsets.UTF_8));
+        this.oneGui.reloadStyles(file.toPath());
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(0, this.oneGuiRenderer.getLayoutPasses());
+        Assert.assertNotNull(this.oneGuiRenderer.getRenderedImages().get("clock"));
+
+        Files.write(file.toPath(), OneGuiRendererTest.clockStyle("red").getBytes(StandardCharsets.UTF_8));
+        this.oneGui.reloadStyles(file.toPath());
+        this.oneGuiRenderer.update(1);
+        Assert.assertNotNull(this.oneGuiRenderer.getRenderedImages().get("title"));
+        Assert.assertNull(this.oneGuiRenderer.getRenderedImages().get("clock"));
+        Assert.assertEquals(Color.RED, this.clock.getStyle().getColor());
+
+        // Selectors no longer in the file are removed
+        Files.write(file.toPath(), "other { color: red; }".getBytes(StandardCharsets.UTF_8));
+        this.oneGui.reloadStyles(file.toPath());
+        Assert.assertNull(this.oneGui.getStyle("clock"));
+    }
+
+    @Test
+    public void testParallelRendering() {
+        this.oneGuiRenderer.update(1);
+        final BufferedImage expected = copy(this.oneGuiRenderer.generateImage());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final AtomicInteger executed = new AtomicInteger();
+
+        try {
+            final OneGuiRenderer parallel = new OneGuiRenderer(this.oneGuiRenderer.getScreen(), 200, 100);
+            parallel.setRenderExecutor(runnable -> {
+                executed.incrementAndGet();
+                executorService.execute(runnable);
+            });
+            parallel.update(1);
+
+            final BufferedImage actual = parallel.generateImage();
+            Assert.assertEquals(2, executed.get());
+
+            for (int y = 0; y < expected.getHeight(); y++) {
+                for (int x = 0; x < expected.getWidth(); x++) {
+                    Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+
+            // Only dirty children are rendered again, a single one on the calling thread
+            this.clock.setText("00:01");
+            parallel.generateImage();
+            Assert.assertEquals(2, executed.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelLayout() throws IOException {
+        final OneGui dashboard = new OneGui();
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+        try {
+            dashboard.addStyles("@Screen { childLayout: down; }"
+                    + "@Panel { height: 10%; paddingLeft: 2%; paddingTop: 1px; childLayout: right; }"
+                    + ".column { width: 5%; height: 90%; marginLeft: 1px; childLayout: down; align: right; }"
+                    + "@Label { width: 80%; height: 4px; marginTop: 1px; marginRight: 10%h; color: black; font: \"/Tuffy.ttf\"; fontSize: 4px; }");
+
+            final Screen screen = new Screen(dashboard, "dashboard");
+            for (int r = 0; r < 10; r++) {
+                final Panel row = new Panel(screen, "row" + r);
+
+                for (int c = 0; c < 12; c++) {
+                    final Panel column = new Panel(row, "column" + r + "_" + c);
+                    column.addStyleClass("column");
+
+                    for (int l = 0; l < 15; l++) {
+                        new Label(column, "label" + r + "_" + c + "_" + l, "Label");
+                    }
+                }
+            }
+
+            final OneGuiRenderer serial = new OneGuiRenderer(screen, 1280, 720);
+            serial.update(1);
+
+            final OneGuiRenderer parallel = new OneGuiRenderer(screen, 1280, 720);
+            parallel.setParallelLayout(forkJoinPool, 2);
+            Assert.assertTrue(parallel.isParallelLayout());
+            parallel.update(1);
+
+            Assert.assertEquals(serial.getLayoutPasses(), parallel.getLayoutPasses());
+            Assert.assertEquals(1 + 10 + 120 + 1800, parallel.getComponentInfos().size());
+            Assert.assertEquals(new HashMap<>(serial.getComponentInfos()), new HashMap<>(parallel.getComponentInfos()));
+
+            // Unchanged subtrees are skipped in parallel mode as well
+            parallel.update(1);
+            Assert.assertEquals(0, parallel.getLayoutPasses());
+
+            screen.findById("column3_4").removeStyleClass("column");
+            parallel.update(1);
+            serial.update(1);
+            Assert.assertTrue(parallel.getLayoutPasses() > 0);
+            Assert.assertEquals(serial.getLayoutPasses(), parallel.getLayoutPasses());
+            Assert.assertEquals(new HashMap<>(serial.getComponentInfos()), new HashMap<>(parallel.getComponentInfos()));
+        } finally {
+            forkJoinPool.shutdown();
+            dashboard.shutdown();
+        }
+    }
+
+    private static String clockStyle(final String color) {
+        return "clock { width: 100px; height: 20px; color: " + color + "; font: \"/Tuffy.ttf\"; fontSize: 16px; }";
+    }
+
+    private static void assertSimilar(final int expected, final int actual) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            Assert.assertEquals((expected >> shift) & 255, (actual >> shift) & 255, 2);
+        }
+    }
+
+    private static BufferedImage copy(final BufferedImage bufferedImage) {
+        final BufferedImage copy = new BufferedImage(bufferedImage.getWidth(), bufferedImage.getHeight(), bufferedImage.getType());
+        copy.setData(bufferedImage.getData());
+        return copy;
+    }
+}
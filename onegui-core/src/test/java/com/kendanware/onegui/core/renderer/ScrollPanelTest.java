@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.renderer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.container.ScrollPanel;
+import com.kendanware.onegui.core.control.Label;
+import com.kendanware.onegui.core.renderer.component.ContainerRenderer;
+
+public class ScrollPanelTest {
+
+    private static final String STYLES = "screen { backgroundColor: white; childLayout: down; }"
+            + "list { width: 100%; height: 100px; paddingTop: 10px; childLayout: down; }"
+            + ".row { width: 100px; height: 20px; color: black; font: \"/Tuffy.ttf\"; fontSize: 16px; }";
+
+    private static final int ROWS = 10000;
+
+    private OneGui oneGui;
+
+    private ScrollPanel list;
+
+    private final List<Label> rows = new ArrayList<>();
+
+    private OneGuiRenderer oneGuiRenderer;
+
+    @Before
+    public void before() throws IOException {
+        this.oneGui = new OneGui();
+        this.oneGui.addStyles(ScrollPanelTest.STYLES);
+
+        final Screen screen = new Screen(this.oneGui, "screen");
+        this.list = new ScrollPanel(screen, "list");
+
+        for (int i = 0; i < ScrollPanelTest.ROWS; i++) {
+            final Label row = new Label(this.list, "row" + i, "Row " + i);
+            row.addStyleClass("row");
+            this.rows.add(row);
+        }
+
+        this.oneGuiRenderer = new OneGuiRenderer(screen, 200, 100);
+    }
+
+    @After
+    public void after() {
+        this.oneGui.shutdown();
+    }
+
+    @Test
+    public void testOnlyVisibleRowsAreLaidOut() {
+        this.oneGuiRenderer.update(1);
+
+        final ScrollLayout scrollLayout = this.oneGuiRenderer.getLayoutStore().getScrollLayout(this.list.getSlot());
+        Assert.assertEquals(ScrollPanelTest.ROWS * 20.0f, scrollLayout.getContentHeight(), 0.0f);
+        Assert.assertEquals(0, scrollLayout.getFirst());
+        Assert.assertEquals(5, scrollLayout.getLast());
+
+        final ComponentInfo first = this.oneGuiRenderer.getComponentInfo(this.rows.get(0));
+        Assert.assertEquals(10.0f, first.getY(), 0.0f);
+        Assert.assertNotNull(this.oneGuiRenderer.getComponentInfo(this.rows.get(4)));
+        Assert.assertNull(this.oneGuiRenderer.getComponentInfo(this.rows.get(5)));
+        Assert.assertEquals(7, this.oneGuiRenderer.getComponentInfos().size());
+    }
+
+    @Test
+    public void testScroll() {
+        this.oneGuiRenderer.update(1);
+
+        this.list.setScrollOffset(5010.0f);
+        this.oneGuiRenderer.update(1);
+
+        final ScrollLayout scrollLayout = this.oneGuiRenderer.getLayoutStore().getScrollLayout(this.list.getSlot());
+        Assert.assertEquals(250, scrollLayout.getFirst());
+        Assert.assertEquals(255, scrollLayout.getLast());
+        Assert.assertNull(this.oneGuiRenderer.getComponentInfo(this.rows.get(0)));
+        Assert.assertEquals(0.0f, this.oneGuiRenderer.getComponentInfo(this.rows.get(250)).getY(), 0.0f);
+        Assert.assertEquals(7, this.oneGuiRenderer.getComponentInfos().size());
+
+        // Scrolling past the end stops at the last row, the viewport is the inner height of the panel
+        this.list.setScrollOffset(Float.MAX_VALUE);
+        this.oneGuiRenderer.update(1);
+
+        Assert.assertEquals((ScrollPanelTest.ROWS * 20.0f) - 90.0f, scrollLayout.getScrollOffset(), 0.0f);
+        Assert.assertEquals(ScrollPanelTest.ROWS, scrollLayout.getLast());
+    }
+
+    @Test
+    public void testScrollRecyclesSurfaces() {
+        this.oneGuiRenderer.setDamageTracking(true);
+        this.oneGuiRenderer.update(1);
+        this.oneGuiRenderer.generateImage();
+
+        final SurfacePool surfacePool = this.oneGuiRenderer.getSurfacePool();
+        final long allocations = surfacePool.getAllocationCount();
+
+        for (int i = 0; i < 100; i++) {
+            this.list.scrollBy(20.0f);
+            this.oneGuiRenderer.update(1);
+            this.oneGuiRenderer.generateImage();
+        }
+
+        Assert.assertEquals(allocations, surfacePool.getAllocationCount());
+        Assert.assertTrue(surfacePool.getRecycleCount() >= 100);
+        Assert.assertNull(this.oneGuiRenderer.getRenderedImages().get(this.rows.get(0).getId()));
+        Assert.assertNotNull(this.oneGuiRenderer.getRenderedImages().get(this.rows.get(100).getId()));
+    }
+
+    @Test
+    public void testReusedSlot() {
+        this.oneGuiRenderer.update(1);
+
+        final Screen screen = (Screen) this.list.getParent();
+        final ScrollPanel small = new ScrollPanel(screen, "small");
+        small.setStyle(this.oneGui.getStyle("list"));
+        new Label(small, "first").addStyleClass("row");
+        new Label(small, "second").addStyleClass("row");
+        this.oneGuiRenderer.update(1);
+
+        final int slot = small.getSlot();
+        Assert.assertEquals(2, this.oneGuiRenderer.getLayoutStore().getScrollLayout(small).getVisibleChildren().size());
+
+        // Slots are reused last freed first, the panel is freed before its children
+        screen.removeComponent(small);
+        new Label(screen, "third").addStyleClass("row");
+        new Label(screen, "fourth").addStyleClass("row");
+        final ScrollPanel other = new ScrollPanel(screen, "other");
+        Assert.assertEquals(slot, other.getSlot());
+
+        Assert.assertNull(this.oneGuiRenderer.getLayoutStore().getScrollLayout(other));
+        Assert.assertTrue(((ContainerRenderer) ComponentRendererFactory.getRenderHandler(ScrollPanel.class)).getVisibleChildren(
+                this.oneGuiRenderer, other).isEmpty());
+    }
+
+    @Test
+    public void testChangedRowIsMeasuredAlone() {
+        this.oneGuiRenderer.update(1);
+
+        final ScrollLayout scrollLayout = this.oneGuiRenderer.getLayoutStore().getScrollLayout(this.list);
+        Assert.assertEquals(ScrollPanelTest.ROWS, scrollLayout.getMeasureCount());
+
+        for (int i = 0; i < 10; i++) {
+            this.rows.get(2).setText("Tick " + i);
+            this.rows.get(5000).setText("Tick " + i);
+            this.oneGuiRenderer.update(1);
+        }
+
+        // Extents are not rebuilt, only the changed rows are measured again
+        Assert.assertEquals(ScrollPanelTest.ROWS + 20, scrollLayout.getMeasureCount());
+        Assert.assertEquals(ScrollPanelTest.ROWS * 20.0f, scrollLayout.getContentHeight(), 0.0f);
+
+        this.list.scrollBy(100.0f);
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(ScrollPanelTest.ROWS + 20, scrollLayout.getMeasureCount());
+
+        // Adding a row measures all rows
+        new Label(this.list, "last", "Last").addStyleClass("row");
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals((2 * ScrollPanelTest.ROWS) + 21, scrollLayout.getMeasureCount());
+    }
+
+    @Test
+    public void testChangedRowPerRenderer() {
+        final OneGuiRenderer other = new OneGuiRenderer(this.oneGuiRenderer.getScreen(), 200, 100);
+        this.oneGuiRenderer.update(1);
+        other.update(1);
+
+        this.rows.get(5000).setStyle(this.oneGui.getStyle("list"));
+        this.oneGuiRenderer.update(1);
+        other.update(1);
+
+        for (final OneGuiRenderer renderer : new OneGuiRenderer[] { this.oneGuiRenderer, other }) {
+            final ScrollLayout scrollLayout = renderer.getLayoutStore().getScrollLayout(this.list);
+            Assert.assertEquals((ScrollPanelTest.ROWS * 20.0f) + 70.0f, scrollLayout.getContentHeight(), 0.0f);
+            Assert.assertEquals(ScrollPanelTest.ROWS + 1, scrollLayout.getMeasureCount());
+        }
+    }
+
+    @Test
+    public void testContentChange() {
+        this.oneGuiRenderer.update(1);
+
+        this.list.setScrollOffset(20.0f);
+        this.rows.get(1).setStyle(this.oneGui.getStyle("list"));
+        this.oneGuiRenderer.update(1);
+
+        final ScrollLayout scrollLayout = this.oneGuiRenderer.getLayoutStore().getScrollLayout(this.list.getSlot());
+        // Heights are limited to the viewport
+        Assert.assertEquals((ScrollPanelTest.ROWS * 20.0f) + 70.0f, scrollLayout.getContentHeight(), 0.0f);
+        Assert.assertEquals(ScrollPanelTest.ROWS + 1, scrollLayout.getMeasureCount());
+        Assert.assertEquals(1, scrollLayout.getFirst());
+        Assert.assertEquals(2, scrollLayout.getLast());
+        Assert.assertEquals(10.0f, this.oneGuiRenderer.getComponentInfo(this.rows.get(1)).getY(), 0.0f);
+
+        // Rows below the changed row move down
+        this.list.setScrollOffset(110.0f);
+        this.oneGuiRenderer.update(1);
+        Assert.assertEquals(2, scrollLayout.getFirst());
+        Assert.assertEquals(10.0f, this.oneGuiRenderer.getComponentInfo(this.rows.get(2)).getY(), 0.0f);
+    }
+}
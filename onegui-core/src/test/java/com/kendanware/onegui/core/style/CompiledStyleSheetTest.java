@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.kendanware.onegui.core.OneGui;
+
+public class CompiledStyleSheetTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCompileAndOpen() throws IOException {
+        final File file = this.temporaryFolder.newFile("example1.ogsc");
+
+        try (InputStream inputStream = this.getClass().getResourceAsStream("/example1.ogs")) {
+            new StyleCompiler().compile(inputStream, file.toPath());
+        }
+
+        final Map<String, Style> expected;
+        try (InputStream inputStream = this.getClass().getResourceAsStream("/example1.ogs")) {
+            expected = new StyleParser().parseStyle(inputStream);
+        }
+
+        final CompiledStyleSheet compiledStyleSheet = CompiledStyleSheet.open(file.toPath());
+
+        Assert.assertEquals(3, compiledStyleSheet.size());
+        Assert.assertEquals(0, compiledStyleSheet.getMaterializedCount());
+        Assert.assertEquals(Arrays.asList("style1", "style2", "style3"), compiledStyleSheet.getIds());
+
+        for (final Map.Entry<String, Style> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), compiledStyleSheet.getStyle(entry.getKey()));
+        }
+
+        Assert.assertEquals(3, compiledStyleSheet.getMaterializedCount());
+        Assert.assertSame(compiledStyleSheet.getStyle("style1"), compiledStyleSheet.getStyle("style1"));
+        Assert.assertNull(compiledStyleSheet.getStyle("style4"));
+        Assert.assertFalse(compiledStyleSheet.contains("style4"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalid() throws IOException {
+        final File file = this.temporaryFolder.newFile("invalid.ogsc");
+        CompiledStyleSheet.open(file.toPath());
+    }
+
+    @Test
+    public void testOneGuiLookup() throws IOException {
+        final File file = this.temporaryFolder.newFile("example1.ogsc");
+
+        try (InputStream inputStream = this.getClass().getResourceAsStream("/example1.ogs")) {
+            new StyleCompiler().compile(inputStream, file.toPath());
+        }
+
+        final OneGui oneGui = new OneGui();
+        try {
+            oneGui.addCompiledStyles(file.toPath());
+            oneGui.addStyles("style3 { width: 1px; }");
+
+            Assert.assertEquals("resources/image.png", oneGui.getStyle("style1").getBackgroundImage());
+            Assert.assertEquals(1.0f, oneGui.getStyle("style3").getWidth().getSize(), 0.0f);
+            Assert.assertNull(oneGui.getStyle("style4"));
+        } finally {
+            oneGui.shutdown();
+        }
+    }
+}
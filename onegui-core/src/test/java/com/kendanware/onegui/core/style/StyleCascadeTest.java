@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.kendanware.onegui.core.Color;
+import com.kendanware.onegui.core.Dimension;
+import com.kendanware.onegui.core.OneGui;
+import com.kendanware.onegui.core.Screen;
+import com.kendanware.onegui.core.container.Panel;
+import com.kendanware.onegui.core.control.Label;
+
+public class StyleCascadeTest {
+
+    @Test
+    public void testCascade() throws IOException {
+        final Map<String, StyleDeclaration> declarations = new StyleParser().parseDeclarations(new StringReader(
+                "@Component { width: 1px; height: 1px; } @Label { width: 2px; } .wide { width: 3px; color: red; } .tall { height: 4px; } "
+                        + "label1 { color: blue; } panel1 { font: \"/Tuffy.ttf\"; color: green; }"));
+
+        final StyleCascade styleCascade = new StyleCascade();
+
+        final StyleDeclaration panel = styleCascade.cascade(declarations::get, Panel.class, Collections.<String> emptyList(), "panel1", null);
+        Assert.assertEquals("1px", panel.get(StyleProperty.WIDTH));
+
+        final Style label = styleCascade.getStyle(styleCascade.cascade(declarations::get, Label.class, Arrays.asList("tall", "wide"),
+                "label1", panel));
+        Assert.assertEquals(new Dimension("3px"), label.getWidth());
+        Assert.assertEquals(new Dimension("4px"), label.getHeight());
+        Assert.assertEquals(Color.BLUE, label.getColor());
+        Assert.assertEquals("/Tuffy.ttf", label.getFont());
+
+        Assert.assertNull(styleCascade.cascade(declarations::get, Object.class, Collections.<String> emptyList(), "unknown", panel));
+    }
+
+    @Test
+    public void testComponentStyle() throws IOException {
+        final OneGui oneGui = new OneGui();
+
+        try {
+            oneGui.addStyles("screen1 { color: red; } label1 { width: 10px; } .wide { width: 20px; }");
+
+            final Screen screen = new Screen(oneGui, "screen1");
+            oneGui.addScreen(screen);
+            final Panel panel = new Panel(screen, "panel1");
+            final Label label = new Label(panel, "label1");
+
+            final Style style = label.getStyle();
+            Assert.assertEquals(Color.RED, style.getColor());
+            Assert.assertEquals(new Dimension("10px"), style.getWidth());
+            Assert.assertSame(style, label.getStyle());
+
+            label.addStyleClass("wide");
+            Assert.assertEquals(new Dimension("10px"), label.getStyle().getWidth());
+
+            oneGui.removeStyle("label1");
+            Assert.assertEquals(new Dimension("20px"), label.getStyle().getWidth());
+
+            panel.addStyleClass("blue");
+            oneGui.addStyles(".blue { color: blue; }");
+            Assert.assertEquals(Color.BLUE, label.getStyle().getColor());
+        } finally {
+            oneGui.shutdown();
+        }
+    }
+}
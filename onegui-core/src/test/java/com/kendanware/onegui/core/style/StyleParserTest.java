@@ -32,7 +32,10 @@ import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 
 import org.junit.Assert;
@@ -100,6 +103,45 @@ public class StyleParserTest extends StyleParser {
         }
     }
 
+    @Test
+    public void testParseDeclarations() throws IOException {
+        final String data = "second, first { width: 10px; } // comment with / and // inside\n"
+                + "first { backgroundImage: \"images/a.png\"; }";
+
+        final Map<String, StyleDeclaration> declarations = this.parseDeclarations(new StringReader(data));
+
+        Assert.assertEquals(Arrays.asList("second", "first"), new ArrayList<>(declarations.keySet()));
+        Assert.assertEquals("10px", declarations.get("first").get(StyleProperty.WIDTH));
+        Assert.assertEquals("\"images/a.png\"", declarations.get("first").get(StyleProperty.BACKGROUND_IMAGE));
+        Assert.assertNull(declarations.get("second").get(StyleProperty.BACKGROUND_IMAGE));
+        Assert.assertEquals("10px", declarations.get("first").get(StyleDeclaration.WIDTH));
+    }
+
+    @Test
+    public void testPropertyIndex() {
+        for (int index = 0; index < StyleDeclaration.getPropertyCount(); index++) {
+            Assert.assertEquals(index, StyleDeclaration.indexOf(StyleDeclaration.getProperty(index)));
+        }
+
+        Assert.assertEquals(StyleDeclaration.CHILD_LAYOUT, StyleDeclaration.indexOf(StyleProperty.CHILD_LAYOUT));
+        Assert.assertEquals(StyleDeclaration.FONT_SIZE, StyleDeclaration.indexOf(StyleProperty.FONT_SIZE));
+        Assert.assertEquals(-1, StyleDeclaration.indexOf("unknown"));
+    }
+
+    @Test
+    public void testInterning() throws IOException {
+        final String data = "style1 { marginTop: 5px; color: #ff0000ff; } style2 { marginTop: 5px; width: 10px; color: #ff0000ff; }"
+                + "style3 { marginTop: 5px; color: #ff0000ff; }";
+
+        final Map<String, Style> styles = this.parseStyle(new StringReader(data));
+
+        Assert.assertSame(styles.get("style1").getMarginTop(), styles.get("style2").getMarginTop());
+        Assert.assertSame(styles.get("style1").getColor(), styles.get("style2").getColor());
+        Assert.assertSame(styles.get("style1"), styles.get("style3"));
+        Assert.assertNotSame(styles.get("style1"), styles.get("style2"));
+        Assert.assertSame(styles.get("style1"), this.parseStyle(new StringReader("style4 { color: #ff0000ff; marginTop: 5px; }")).get("style4"));
+    }
+
     @Test
     public void testParseStyleInvalid() throws IOException {
         try (InputStream inputStream = new ByteArrayInputStream(StyleParserTest.INVALID_STYLE)) {
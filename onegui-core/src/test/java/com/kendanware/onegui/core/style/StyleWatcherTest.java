@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.core.style;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StyleWatcherTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWatch() throws IOException, InterruptedException {
+        final File watched = this.temporaryFolder.newFile("watched.ogs");
+        final File other = this.temporaryFolder.newFile("other.ogs");
+        final BlockingQueue<Path> changes = new LinkedBlockingQueue<>();
+
+        try (StyleWatcher styleWatcher = new StyleWatcher(changes::add)) {
+            styleWatcher.watch(watched.toPath());
+
+            Files.write(other.toPath(), "style1 { width: 1px; }".getBytes(StandardCharsets.UTF_8));
+            Files.write(watched.toPath(), "style1 { width: 2px; }".getBytes(StandardCharsets.UTF_8));
+
+            Assert.assertEquals(watched.toPath().toAbsolutePath().normalize(), changes.poll(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testOverflowReportsEveryWatchedFile() throws IOException {
+        final Path directory = this.temporaryFolder.getRoot().toPath().toAbsolutePath().normalize();
+        final Path first = this.temporaryFolder.newFile("first.ogs").toPath().toAbsolutePath().normalize();
+        final Path second = this.temporaryFolder.newFile("second.ogs").toPath().toAbsolutePath().normalize();
+        final Path other = this.temporaryFolder.newFolder("other").toPath().resolve("other.ogs").toAbsolutePath().normalize();
+
+        final WatchEvent<Object> overflow = new WatchEvent<Object>() {
+
+            @Override
+            public Kind<Object> kind() {
+                return StandardWatchEventKinds.OVERFLOW;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Object context() {
+                return null;
+            }
+        };
+
+        try (StyleWatcher styleWatcher = new StyleWatcher(path -> {
+        })) {
+            styleWatcher.watch(first);
+            styleWatcher.watch(second);
+            styleWatcher.watch(other);
+
+            Assert.assertEquals(new LinkedHashSet<>(Arrays.asList(first, second)),
+                    new LinkedHashSet<>(styleWatcher.getChangedFiles(directory, Collections.singletonList(overflow))));
+        }
+    }
+
+    @Test
+    public void testWatchAgainAfterDirectoryIsRemoved() throws IOException, InterruptedException {
+        final File folder = this.temporaryFolder.newFolder("styles");
+        final Path directory = folder.toPath().toAbsolutePath().normalize();
+        final Path watched = directory.resolve("watched.ogs");
+        final BlockingQueue<Path> changes = new LinkedBlockingQueue<>();
+
+        try (StyleWatcher styleWatcher = new StyleWatcher(changes::add)) {
+            Files.write(watched, "style1 { width: 1px; }".getBytes(StandardCharsets.UTF_8));
+            styleWatcher.watch(watched);
+            Assert.assertTrue(styleWatcher.isWatching(directory));
+
+            Files.delete(watched);
+            Files.delete(directory);
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (styleWatcher.isWatching(directory) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assert.assertFalse(styleWatcher.isWatching(directory));
+
+            Files.createDirectory(directory);
+            Files.write(watched, "style1 { width: 1px; }".getBytes(StandardCharsets.UTF_8));
+            styleWatcher.watch(watched);
+            changes.clear();
+
+            Files.write(watched, "style1 { width: 2px; }".getBytes(StandardCharsets.UTF_8));
+
+            Assert.assertEquals(watched, changes.poll(30, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -7,22 +7,17 @@ import com.jme3.scene.Geometry;
 import com.jme3.scene.shape.Box;
 import com.jme3.system.AppSettings;
 import com.jme3.system.JmeContext;
-import com.jme3.texture.Image;
 import com.jme3.texture.Texture2D;
-import com.jme3.texture.plugins.AWTLoader;
 import com.jme3.ui.Picture;
-import com.jme3.util.BufferUtils;
 import com.kendanware.onegui.core.OneGui;
 import com.kendanware.onegui.core.Screen;
 import com.kendanware.onegui.core.container.Panel;
 import com.kendanware.onegui.core.control.Button;
 import com.kendanware.onegui.core.control.Label;
 import com.kendanware.onegui.core.renderer.OneGuiRenderer;
+import com.kendanware.onegui.jme3.OneGuiTexture;
 
-import java.awt.image.BufferedImage;
-import java.awt.image.DataBufferByte;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,8 +28,7 @@ public class Jme3Example1 extends SimpleApplication {
 
     private OneGui oneGui;
     private OneGuiRenderer oneGuiRenderer;
-    private Image image;
-    private ByteBuffer byteBuffer;
+    private OneGuiTexture oneGuiTexture;
     private Label label;
     private Texture2D texture;
     private long lastUpdated;
@@ -89,16 +83,10 @@ public class Jme3Example1 extends SimpleApplication {
         oneGuiRenderer = new OneGuiRenderer(screen, 1280, 720);
         oneGuiRenderer.update(1);
 
-        final BufferedImage bufferedImage = oneGuiRenderer.generateImage();
-        image = new AWTLoader().load(bufferedImage, true);
+        oneGuiTexture = new OneGuiTexture(oneGuiRenderer);
+        oneGuiTexture.update();
 
-        final byte[] pixels = ((DataBufferByte) bufferedImage.getRaster().getDataBuffer()).getData();
-        flipImage(pixels, (int) oneGuiRenderer.getWidth(), (int) oneGuiRenderer.getHeight(), bufferedImage.getColorModel().getPixelSize());
-        byteBuffer = BufferUtils.createByteBuffer(pixels.length);
-        byteBuffer.put(pixels);
-        byteBuffer.flip();
-
-        texture = new Texture2D(image);
+        texture = oneGuiTexture.getTexture();
         texture.setAnisotropicFilter(2);
         final Picture picture = new Picture("HUD Picture");
         picture.setWidth(settings.getWidth());
@@ -118,13 +106,7 @@ public class Jme3Example1 extends SimpleApplication {
             return;
         }
 
-        final BufferedImage bufferedImage = oneGuiRenderer.generateImage();
-        final byte[] pixels = ((DataBufferByte) bufferedImage.getRaster().getDataBuffer()).getData();
-        flipImage(pixels, (int) oneGuiRenderer.getWidth(), (int) oneGuiRenderer.getHeight(), bufferedImage.getColorModel().getPixelSize());
-        byteBuffer.clear();
-        byteBuffer.put(pixels);
-        byteBuffer.flip();
-        image.setData(byteBuffer);
+        oneGuiTexture.update();
         lastUpdated = timer.getTime();
 
         label.setText(System.currentTimeMillis() + "");
@@ -144,16 +126,4 @@ public class Jme3Example1 extends SimpleApplication {
         example.setSettings(settings);
         example.start(JmeContext.Type.Display);
     }
-
-    private void flipImage(byte[] img, int width, int height, int bpp) {
-        int scSz = (width * bpp) / 8;
-        byte[] sln = new byte[scSz];
-        int y2 = 0;
-        for (int y1 = 0; y1 < height / 2; y1++) {
-            y2 = height - y1 - 1;
-            System.arraycopy(img, y1 * scSz, sln, 0, scSz);
-            System.arraycopy(img, y2 * scSz, img, y1 * scSz, scSz);
-            System.arraycopy(sln, 0, img, y2 * scSz, scSz);
-        }
-    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015 Kendanware
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of onegui, Kendanware nor the names of its
+ *    contributors may be used to endorse or promote products derived from
+ *    this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.kendanware.onegui.jme3;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.jme3.texture.Image;
+import com.jme3.texture.Image.Format;
+import com.jme3.texture.Texture2D;
+import com.jme3.util.BufferUtils;
+import com.kendanware.onegui.core.renderer.OneGuiRenderer;
+
+/**
+ * Texture backed by a direct buffer that is kept in sync with a {@link OneGuiRenderer}. The buffer is allocated once in the jME3
+ * {@link Format#ABGR8} format and bottom-up row order. Each update only copies the rows covered by the dirty regions of the renderer,
+ * flipping them while copying, and the image is only marked for upload when something changed.
+ *
+ * @author Daniel Johansson, Kendanware
+ * @author Kenny Colliander Nordin, Kendanware
+ *
+ * @since 0.0.1
+ */
+public class OneGuiTexture {
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final OneGuiRenderer oneGuiRenderer;
+
+    private final int width;
+
+    private final int height;
+
+    private final ByteBuffer byteBuffer;
+
+    private final Image image;
+
+    private final Texture2D texture;
+
+    private long uploadCount;
+
+    public OneGuiTexture(final OneGuiRenderer oneGuiRenderer) {
+        super();
+
+        if (oneGuiRenderer == null) {
+            throw new NullPointerException("Parameter oneGuiRenderer is null");
+        }
+
+        this.oneGuiRenderer = oneGuiRenderer;
+        this.oneGuiRenderer.setDamageTracking(true);
+        this.width = Math.round(oneGuiRenderer.getWidth());
+        this.height = Math.round(oneGuiRenderer.getHeight());
+        this.byteBuffer = BufferUtils.createByteBuffer(this.width * this.height * OneGuiTexture.BYTES_PER_PIXEL);
+        this.image = new Image(Format.ABGR8, this.width, this.height, this.byteBuffer);
+        this.texture = new Texture2D(this.image);
+    }
+
+    /**
+     * Render the screen and copy the changed rows into the direct buffer
+     *
+     * @return true if the texture changed and will be uploaded
+     */
+    public boolean update() {
+        final BufferedImage bufferedImage = this.oneGuiRenderer.generateImage();
+        final List<Rectangle> dirtyRegions = this.oneGuiRenderer.getDirtyRegions();
+
+        if (dirtyRegions.isEmpty()) {
+            return false;
+        }
+
+        // TYPE_4BYTE_ABGR stores the bytes in the same order as ABGR8, only the row order differs
+        final byte[] pixels = ((DataBufferByte) bufferedImage.getRaster().getDataBuffer()).getData();
+        final int scanline = this.width * OneGuiTexture.BYTES_PER_PIXEL;
+
+        for (final Rectangle region : dirtyRegions) {
+            final int offset = region.x * OneGuiTexture.BYTES_PER_PIXEL;
+            final int length = region.width * OneGuiTexture.BYTES_PER_PIXEL;
+
+            for (int y = region.y; y < region.y + region.height; y++) {
+                this.byteBuffer.position((this.height - y - 1) * scanline + offset);
+                this.byteBuffer.put(pixels, y * scanline + offset, length);
+            }
+        }
+
+        this.byteBuffer.clear();
+        this.image.setUpdateNeeded();
+        this.uploadCount++;
+
+        return true;
+    }
+
+    public OneGuiRenderer getOneGuiRenderer() {
+        return this.oneGuiRenderer;
+    }
+
+    public Texture2D getTexture() {
+        return this.texture;
+    }
+
+    public Image getImage() {
+        return this.image;
+    }
+
+    /**
+     * @return the number of times the image has been marked for upload
+     */
+    public long getUploadCount() {
+        return this.uploadCount;
+    }
+}